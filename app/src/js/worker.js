@@ -15,31 +15,148 @@
  */
 self.importScripts("polyfill.min.js", "pouchdb.min.js");
 
+// one database handle per name, reused for all messages
+self.databases = {};
+
+self.database = function (name) {
+    if (!self.databases[name]) {
+        self.databases[name] = new PouchDB(name);
+    }
+    return self.databases[name];
+};
+
+// notifies the other console tabs about stored documents (see WorkerChannel)
+self.metadataChannel = typeof BroadcastChannel !== "undefined" ? new BroadcastChannel("hal-metadata") : null;
+
+// id of the local document which stores the fingerprints of the subtrees (see CacheManifest)
+self.MANIFEST = "_local/hal-manifest";
+
 self.addEventListener("message", function (e) {
-    var db = new PouchDB(e.data.database);
-    db.get(e.data.document._id)
-        .then(function (doc) {
-            // update existing document
-            e.data.document._rev = doc._rev;
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Update " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
+    var prunes = {};
+    (e.data.prunes || []).forEach(function (prune) {
+        prunes[prune.database] = pruneStale(prune.database, prune.fingerprints);
+    });
+    e.data.updates.forEach(function (update) {
+        // write the documents only after the stale documents of the same database have been removed
+        Promise.resolve(prunes[update.database]).then(function () {
+            bulkUpdate(update.database, update.documents, e.data.origin);
+        });
+    });
+}, false);
+
+// removes the documents whose fingerprint differs from the current fingerprint of their subtree
+self.pruneStale = function (name, fingerprints) {
+    var db = database(name);
+    return db.get(MANIFEST)
+        .catch(function () {
+            return null;
+        })
+        .then(function (manifest) {
+            var previous = manifest ? manifest.fingerprints : null;
+            if (previous && JSON.stringify(previous) === JSON.stringify(fingerprints)) {
+                return null;
+            }
+            var store = function () {
+                var document = {_id: MANIFEST, fingerprints: fingerprints};
+                if (manifest) {
+                    document._rev = manifest._rev;
+                }
+                return db.put(document);
+            };
+            if (!previous) {
+                return store();
+            }
+            return db.allDocs({include_docs: true}).then(function (result) {
+                var stale = result.rows
+                    .filter(function (row) {
+                        return row.doc.fingerprint !== fingerprintOf(fingerprints, subtreeOf(row.id));
+                    })
+                    .map(function (row) {
+                        return {_id: row.id, _rev: row.value.rev, _deleted: true};
+                    });
+                return db.bulkDocs(stale).then(function () {
+                    info("Pruned " + stale.length + " stale documents from " + name);
+                    return store();
                 });
+            });
         })
         .catch(function (err) {
-            // put new document
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Insert " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
+            error("Unable to prune " + name + ": " + err);
+        });
+};
+
+// same rules as CacheManifest.subtree() and CacheManifest.fingerprint()
+self.subtreeOf = function (id) {
+    var match = /\/(subsystem=[^/]*)/.exec(id);
+    return match ? match[1] : "core";
+};
+
+self.fingerprintOf = function (fingerprints, subtree) {
+    return fingerprints[subtree] !== undefined ? fingerprints[subtree] : fingerprints.core;
+};
+
+self.bulkUpdate = function (name, documents, origin) {
+    var start = Date.now();
+    var db = database(name);
+    var keys = documents.map(function (document) {
+        return document._id;
+    });
+    // rows are returned in the same order as the keys
+    db.allDocs({keys: keys})
+        .then(function (result) {
+            var updated = 0;
+            result.rows.forEach(function (row, index) {
+                if (row.value && !row.value.deleted) {
+                    documents[index]._rev = row.value.rev;
+                    updated++;
+                }
+            });
+            return db.bulkDocs(documents).then(function (response) {
+                var failed = response.filter(function (r) {
+                    return r.error;
                 });
+                var result = {
+                    database: name,
+                    inserted: documents.length - updated - failed.length,
+                    updated: updated,
+                    failed: failed.length,
+                    time: Date.now() - start,
+                    error: failed.length !== 0 ? failed[0].id + ": " + failed[0].message : null
+                };
+                if (failed.length !== 0) {
+                    error("Unable to write " + failed.length + " documents to " + name + ": " + result.error);
+                }
+                self.postMessage(result);
+                broadcast(name, origin, response);
+            });
+        })
+        .catch(function (err) {
+            error("Unable to write " + documents.length + " documents to " + name + ": " + err);
+            self.postMessage({
+                database: name,
+                inserted: 0,
+                updated: 0,
+                failed: documents.length,
+                time: Date.now() - start,
+                error: String(err)
+            });
         });
-}, false);
+};
+
+self.broadcast = function (name, origin, response) {
+    if (self.metadataChannel) {
+        var ids = response
+            .filter(function (r) {
+                return !r.error;
+            })
+            .map(function (r) {
+                return r.id;
+            });
+        if (ids.length !== 0) {
+            self.metadataChannel.postMessage({origin: origin, database: name, ids: ids});
+        }
+    }
+};
 
 self.info = function (message) {
     // use the same log format as HAL
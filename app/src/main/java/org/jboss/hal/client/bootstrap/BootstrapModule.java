@@ -19,10 +19,12 @@ import com.google.gwt.inject.client.AbstractGinModule;
 import com.google.inject.Singleton;
 import org.jboss.hal.client.bootstrap.endpoint.EndpointManager;
 import org.jboss.hal.client.bootstrap.endpoint.EndpointStorage;
+import org.jboss.hal.client.bootstrap.tasks.BootstrapReads;
 import org.jboss.hal.client.bootstrap.tasks.BootstrapTasks;
 import org.jboss.hal.client.bootstrap.tasks.CheckForUpdate;
 import org.jboss.hal.client.bootstrap.tasks.CheckTargetVersion;
 import org.jboss.hal.client.bootstrap.tasks.InitializationTasks;
+import org.jboss.hal.client.bootstrap.tasks.LoadRunAs;
 import org.jboss.hal.client.bootstrap.tasks.LoadSettings;
 import org.jboss.hal.client.bootstrap.tasks.ReadAuthentication;
 import org.jboss.hal.client.bootstrap.tasks.ReadEnvironment;
@@ -38,6 +40,7 @@ public class BootstrapModule extends AbstractGinModule {
 
     @Override
     protected void configure() {
+        bind(BootstrapReads.class).in(Singleton.class);
         bind(BootstrapTasks.class).in(Singleton.class);
         bind(CheckForUpdate.class).in(Singleton.class);
         bind(CheckTargetVersion.class).in(Singleton.class);
@@ -45,6 +48,7 @@ public class BootstrapModule extends AbstractGinModule {
         bind(EndpointStorage.class).in(Singleton.class);
         bind(ReadHostNames.class).in(Singleton.class);
         bind(InitializationTasks.class).in(Singleton.class);
+        bind(LoadRunAs.class).in(Singleton.class);
         bind(LoadSettings.class).in(Singleton.class);
         bind(ReadAuthentication.class).in(Singleton.class);
         bind(ReadEnvironment.class).in(Singleton.class);
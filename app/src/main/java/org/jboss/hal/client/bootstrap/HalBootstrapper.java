@@ -25,7 +25,6 @@ import org.jboss.hal.client.bootstrap.tasks.BootstrapTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializationTasks;
 import org.jboss.hal.client.bootstrap.tasks.InitializedTask;
 import org.jboss.hal.core.ExceptionHandler;
-import org.jboss.hal.flow.Flow;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Outcome;
 import org.jboss.hal.js.Browser;
@@ -69,7 +68,7 @@ public class HalBootstrapper implements Bootstrapper {
 
         endpointManager.select(() -> {
             LoadingPanel.get().on();
-            Flow.series(new FlowContext(), bootstrapTasks.tasks()).subscribe(new Outcome<FlowContext>() {
+            bootstrapTasks.execute(new FlowContext()).subscribe(new Outcome<FlowContext>() {
                 @Override
                 public void onError(FlowContext context, Throwable error) {
                     logger.error("Bootstrap error: {}", error.getMessage());
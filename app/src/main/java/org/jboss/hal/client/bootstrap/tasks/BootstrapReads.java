@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.config.OperationMode;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.meta.StatementContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Completable;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
+
+/**
+ * Gathers the reads of {@link ReadEnvironment}, {@link ReadAuthentication}, {@link ReadHostNames} and {@link
+ * FindDomainController} into as few composite operations as possible: One composite for the environment, the
+ * authentication and the subsystem versions and - in domain mode only - another one for the hosts. The step results
+ * are stored in the flow context, where the tasks pick them up instead of executing their own operations.
+ * <p>
+ * If a composite fails (e.g. because a step is not permitted for the current user), nothing is stored and the tasks
+ * fall back to their own operations.
+ */
+public class BootstrapReads implements BootstrapTask {
+
+    static final String ENVIRONMENT_RESULT = "bootstrap.reads.environment";         // CompositeResult
+    static final String AUTHENTICATION_RESULT = "bootstrap.reads.authentication";   // CompositeResult
+    static final String SUBSYSTEMS_RESULT = "bootstrap.reads.subsystems";           // ModelNode
+    static final String HOST_NAMES_RESULT = "bootstrap.reads.hostNames";            // ModelNode
+    static final String HOSTS_RESULT = "bootstrap.reads.hosts";                     // ModelNode
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapReads.class);
+
+    private final Dispatcher dispatcher;
+    private final StatementContext statementContext;
+
+    @Inject
+    public BootstrapReads(Dispatcher dispatcher, StatementContext statementContext) {
+        this.dispatcher = dispatcher;
+        this.statementContext = statementContext;
+    }
+
+    @Override
+    public Completable call(FlowContext context) {
+        List<Operation> environment = ReadEnvironment.operations();
+        List<Operation> authentication = ReadAuthentication.operations(statementContext);
+        List<Operation> operations = new ArrayList<>(environment);
+        operations.addAll(authentication);
+        operations.add(ReadEnvironment.subsystemVersionsOperation());
+
+        return dispatcher.execute(new Composite(operations))
+                .flatMapCompletable(result -> {
+                    int index = 0;
+                    context.set(ENVIRONMENT_RESULT, slice(result, index, environment.size()));
+                    index += environment.size();
+                    context.set(AUTHENTICATION_RESULT, slice(result, index, authentication.size()));
+                    index += authentication.size();
+                    context.set(SUBSYSTEMS_RESULT, result.step(index).get(RESULT));
+                    logger.debug("Read environment, authentication and subsystems in one composite");
+
+                    ModelNode root = result.step(0).get(RESULT);
+                    OperationMode operationMode = asEnumValue(root, LAUNCH_TYPE, OperationMode::valueOf,
+                            OperationMode.UNDEFINED);
+                    return operationMode == OperationMode.DOMAIN ? readHosts(context) : Completable.complete();
+                })
+                .onErrorComplete(throwable -> {
+                    logger.warn("Unable to read bootstrap data in one composite. Fall back to single reads: {}",
+                            throwable.getMessage());
+                    return true;
+                });
+    }
+
+    private Completable readHosts(FlowContext context) {
+        Composite composite = new Composite(ReadHostNames.operation(),
+                FindDomainController.operation(new ResourceAddress().add(HOST, "*")));
+        return dispatcher.execute(composite)
+                .doOnSuccess(result -> {
+                    context.set(HOST_NAMES_RESULT, result.step(0).get(RESULT));
+                    context.set(HOSTS_RESULT, result.step(1).get(RESULT));
+                    logger.debug("Read host names and hosts in one composite");
+                })
+                .toCompletable()
+                .onErrorComplete(throwable -> {
+                    logger.warn("Unable to read hosts in one composite. Fall back to single reads: {}",
+                            throwable.getMessage());
+                    return true;
+                });
+    }
+
+    /** Returns the steps {@code [from, from + count)} of the result as a new composite result. */
+    static CompositeResult slice(CompositeResult result, int from, int count) {
+        ModelNode steps = new ModelNode();
+        for (int i = 0; i < count; i++) {
+            steps.get("step-" + (i + 1)).set(result.step(from + i)); //NON-NLS
+        }
+        return new CompositeResult(steps);
+    }
+}
@@ -15,38 +15,153 @@
  */
 package org.jboss.hal.client.bootstrap.tasks;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.inject.Inject;
 
-/** Simple wrapper around an ordered array of bootstrap tasks. */
+import org.jboss.hal.flow.FlowContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Completable;
+import rx.Single;
+
+import static elemental2.dom.DomGlobal.performance;
+
+/**
+ * The bootstrap tasks and their dependencies. Each task starts as soon as all tasks it depends on have finished. Tasks
+ * without dependencies between them run concurrently. This way local tasks like loading the settings overlap with the
+ * network bound tasks. {@link BootstrapReads} gathers the reads of the network bound tasks into one or two composite
+ * operations.
+ * <p>
+ * The start and end time of each task relative to the start of the bootstrap process are recorded and logged at the
+ * end. Use {@link #timings()} to get them.
+ */
 public class BootstrapTasks {
 
-    private final BootstrapTask[] tasks;
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapTasks.class);
 
-    // Don't change the order unless you know what you're doing!
+    private final Map<BootstrapTask, BootstrapTask[]> dependencies;
+    private final Map<String, Timing> timings;
+
+    // Make sure to declare the dependencies of a task before the task itself and to register all dependencies.
+    // Don't remove a dependency unless you know what you're doing!
     @Inject
-    public BootstrapTasks(ReadEnvironment readEnvironment,
+    public BootstrapTasks(BootstrapReads bootstrapReads,
+            ReadEnvironment readEnvironment,
             ReadAuthentication readAuthentication,
             ReadHostNames readHostNames,
             FindDomainController findDomainController,
             RegisterStaticCapabilities registerStaticCapabilities,
             ReadExtensions readExtensions,
             LoadSettings loadSettings,
+            LoadRunAs loadRunAs,
             SetTitle setTitle,
             StartAnalytics startAnalytics) {
-        this.tasks = new BootstrapTask[]{
-                readEnvironment,
-                readAuthentication,
-                readHostNames,
-                findDomainController,
-                registerStaticCapabilities,
-                readExtensions,
-                loadSettings,
-                setTitle,
-                startAnalytics,
-        };
+        this.dependencies = new LinkedHashMap<>();
+        this.timings = new LinkedHashMap<>();
+
+        add(bootstrapReads);
+        add(readEnvironment, bootstrapReads);
+        add(readAuthentication, readEnvironment);
+        add(readHostNames, readEnvironment);
+        add(findDomainController, readHostNames);
+        add(registerStaticCapabilities, readEnvironment);
+        add(readExtensions);
+        add(loadSettings);
+        add(loadRunAs, readAuthentication, readHostNames, findDomainController, registerStaticCapabilities);
+        add(setTitle, readEnvironment, loadSettings);
+        add(startAnalytics, readEnvironment, readAuthentication, loadSettings);
+    }
+
+    private void add(BootstrapTask task, BootstrapTask... dependsOn) {
+        for (BootstrapTask dependency : dependsOn) {
+            if (!dependencies.containsKey(dependency)) {
+                throw new IllegalStateException("Dependency " + name(dependency) + " of bootstrap task " + name(task) +
+                        " has not been registered before");
+            }
+        }
+        dependencies.put(task, dependsOn);
+    }
+
+    /** Executes all bootstrap tasks and emits the context when all of them have finished. */
+    public Single<FlowContext> execute(FlowContext context) {
+        return Single.defer(() -> {
+            double start = performance.now();
+            timings.clear();
+
+            // tasks are registered in topological order, so the completables of the dependencies always exist
+            Map<BootstrapTask, Completable> completables = new LinkedHashMap<>();
+            dependencies.forEach((task, dependsOn) -> {
+                List<Completable> before = new ArrayList<>();
+                for (BootstrapTask dependency : dependsOn) {
+                    before.add(completables.get(dependency));
+                }
+                Completable completable = Completable.merge(before)
+                        .andThen(Completable.defer(() -> timed(task, context, start)));
+                // cache the completable, since it's subscribed by all dependent tasks
+                completables.put(task, completable.toObservable().cache().toCompletable());
+            });
+            return Completable.merge(completables.values())
+                    .doOnCompleted(() -> logger.info("Bootstrap tasks finished in {} ms: {}",
+                            Math.round(performance.now() - start), timings.values()))
+                    .toSingleDefault(context);
+        });
+    }
+
+    private Completable timed(BootstrapTask task, FlowContext context, double start) {
+        Timing timing = new Timing(name(task), performance.now() - start);
+        timings.put(timing.name, timing);
+        return task.call(context).doOnCompleted(() -> timing.end = performance.now() - start);
     }
 
-    public BootstrapTask[] tasks() {
-        return tasks;
+    /** @return the timings of the last execution in the order the tasks have been started */
+    public Map<String, Timing> timings() {
+        return timings;
+    }
+
+    private static String name(BootstrapTask task) {
+        return task.getClass().getSimpleName();
+    }
+
+
+    /** Start and end time of a bootstrap task in ms relative to the start of the bootstrap process. */
+    public static class Timing {
+
+        private final String name;
+        private final double start;
+        private double end;
+
+        private Timing(String name, double start) {
+            this.name = name;
+            this.start = start;
+            this.end = -1;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + Math.round(start) + " - " + (end < 0 ? "?" : String.valueOf(Math.round(end))) +
+                    " ms";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getStart() {
+            return start;
+        }
+
+        /** @return the end time or -1 if the task has not finished */
+        public double getEnd() {
+            return end;
+        }
+
+        /** @return the duration or -1 if the task has not finished */
+        public double getDuration() {
+            return end < 0 ? -1 : end - start;
+        }
     }
 }
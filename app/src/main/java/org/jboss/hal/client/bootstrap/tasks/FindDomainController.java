@@ -47,27 +47,33 @@ public class FindDomainController implements BootstrapTask {
         this.environment = environment;
     }
 
+    /** The operation to read the attributes of the specified host(s). Use {@code host=*} to read all hosts. */
+    static Operation operation(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                .param(ATTRIBUTES_ONLY, true)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+    }
+
     @Override
     public Completable call(FlowContext context) {
         if (!environment.isStandalone()) {
             List<String> hosts = context.get(HOST_NAMES);
-            if (hosts != null) {
+            ModelNode prefetched = context.get(BootstrapReads.HOSTS_RESULT);
+            if (prefetched != null) {
+                for (ModelNode node : prefetched.asList()) {
+                    if (node.hasDefined(RESULT)) {
+                        master(node.get(RESULT));
+                    }
+                }
+                return Completable.complete();
+
+            } else if (hosts != null) {
                 List<Completable> completables = hosts.stream()
                         .map(host -> {
                             ResourceAddress address = new ResourceAddress().add(HOST, host);
-                            Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
-                                    .param(ATTRIBUTES_ONLY, true)
-                                    .param(INCLUDE_RUNTIME, true)
-                                    .build();
-                            return dispatcher.execute(operation)
-                                    .doOnSuccess(result -> {
-                                        boolean master = result.get(MASTER).asBoolean();
-                                        if (master) {
-                                            String name = result.get(NAME).asString();
-                                            environment.setDomainController(name);
-                                            logger.info("Found domain controller: {}", name);
-                                        }
-                                    })
+                            return dispatcher.execute(operation(address))
+                                    .doOnSuccess(this::master)
                                     .onErrorResumeNext(error -> {
                                         logger.warn("Unable to read host: {}", error.getMessage());
                                         return Single.just(new ModelNode());
@@ -83,4 +89,12 @@ public class FindDomainController implements BootstrapTask {
             return Completable.complete();
         }
     }
+
+    private void master(ModelNode host) {
+        if (host.get(MASTER).asBoolean(false)) {
+            String name = host.get(NAME).asString();
+            environment.setDomainController(name);
+            logger.info("Found domain controller: {}", name);
+        }
+    }
 }
@@ -40,6 +40,7 @@ import rx.functions.Action1;
 
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.flow.Flow.inParallel;
 import static org.jboss.hal.flow.Flow.series;
 
 public class FindNonProgressingTask implements Action1<SingleEmitter<ModelNode>> {
@@ -153,7 +154,7 @@ public class FindNonProgressingTask implements Action1<SingleEmitter<ModelNode>>
                         .toCompletable();
             };
 
-            series(new FlowContext(progress.get()), hostsTask, serversTask, findNonProgressingTask)
+            series(new FlowContext(progress.get()), inParallel(hostsTask, serversTask), findNonProgressingTask)
                     .subscribe(new Outcome<FlowContext>() {
                         @Override
                         public void onError(FlowContext context, Throwable error) {
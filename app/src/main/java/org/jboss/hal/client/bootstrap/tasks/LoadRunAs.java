@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.bootstrap.tasks;
+
+import javax.inject.Inject;
+
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.flow.FlowContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Completable;
+
+import static org.jboss.hal.config.Settings.Key.RUN_AS;
+
+/**
+ * Loads the run-as role which is then used by the dispatcher. All bootstrap tasks which execute operations must not
+ * have a run-as role in the dispatcher. This includes the fallback reads of {@link FindDomainController} if the
+ * composite operation of {@link BootstrapReads} fails. Please make sure this task depends on all of them.
+ */
+public class LoadRunAs implements BootstrapTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunAs.class);
+
+    private final Settings settings;
+
+    @Inject
+    public LoadRunAs(Settings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public Completable call(FlowContext context) {
+        settings.load(RUN_AS, null);
+        logger.debug("Load run-as roles: {}", settings.get(RUN_AS).asSet());
+        return Completable.complete();
+    }
+}
@@ -29,9 +29,9 @@ import rx.Completable;
 import static org.jboss.hal.config.Settings.Key.*;
 
 /**
- * Loads the settings. Please make sure this is one of the last bootstrap function. This function loads the run-as role
- * which is then used by the dispatcher. But all previous bootstrap functions must not have a run-as role in the
- * dispatcher.
+ * Loads the settings except the run-as role. The settings are local only, so this task doesn't depend on other tasks
+ * and runs concurrently with the network bound tasks. The run-as role is loaded by {@link LoadRunAs} once all tasks
+ * which execute operations without a run-as role have finished.
  */
 public class LoadSettings implements BootstrapTask {
 
@@ -51,10 +51,11 @@ public class LoadSettings implements BootstrapTask {
         settings.load(TITLE, Names.BROWSER_DEFAULT_TITLE);
         settings.load(COLLECT_USER_DATA, environment.getHalBuild() == Build.COMMUNITY);
         settings.load(LOCALE, Settings.DEFAULT_LOCALE);
+        settings.load(METADATA_CACHE_SIZE, Settings.DEFAULT_METADATA_CACHE_SIZE);
+        settings.load(METADATA_CONCURRENCY, Settings.DEFAULT_METADATA_CONCURRENCY);
         settings.load(PAGE_SIZE, Settings.DEFAULT_PAGE_SIZE);
         settings.load(POLL, true);
         settings.load(POLL_TIME, Settings.DEFAULT_POLL_TIME);
-        settings.load(RUN_AS, null);
         logger.debug("Load settings: {}", settings);
         return Completable.complete();
     }
@@ -16,6 +16,7 @@
 package org.jboss.hal.client.bootstrap.tasks;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -40,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import rx.Completable;
 import rx.Single;
 
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toSet;
 import static org.jboss.hal.config.AccessControlProvider.RBAC;
 import static org.jboss.hal.config.AccessControlProvider.SIMPLE;
@@ -67,9 +69,8 @@ public class ReadAuthentication implements BootstrapTask {
         this.statementContext = statementContext;
     }
 
-    @Override
-    public Completable call(FlowContext context) {
-        logger.debug("Read authentication");
+    /** The operations to read the access control configuration and the current user. */
+    static List<Operation> operations(StatementContext statementContext) {
         ResourceAddress address = CORE_SERVICE_TEMPLATE.resolve(statementContext);
         Operation opAuthorization = new Operation.Builder(address, READ_CHILDREN_RESOURCES_OPERATION)
                 .param(CHILD_TYPE, ACCESS)
@@ -79,7 +80,17 @@ public class ReadAuthentication implements BootstrapTask {
         Operation opWhoami = new Operation.Builder(ResourceAddress.root(), WHOAMI)
                 .param(VERBOSE, true)
                 .build();
-        return dispatcher.execute(new Composite(opAuthorization, opWhoami))
+        return asList(opAuthorization, opWhoami);
+    }
+
+    @Override
+    public Completable call(FlowContext context) {
+        logger.debug("Read authentication");
+        CompositeResult prefetched = context.get(BootstrapReads.AUTHENTICATION_RESULT);
+        Single<CompositeResult> single = prefetched != null
+                ? Single.just(prefetched)
+                : dispatcher.execute(new Composite(operations(statementContext)));
+        return single
                 .doOnSuccess((CompositeResult compositeResult) -> {
 
                     ModelNode result = compositeResult.step(0).get(RESULT);
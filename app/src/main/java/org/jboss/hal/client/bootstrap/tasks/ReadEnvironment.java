@@ -16,7 +16,9 @@
 package org.jboss.hal.client.bootstrap.tasks;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -39,6 +41,7 @@ import org.jboss.hal.meta.ManagementModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
+import rx.Single;
 
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.dmr.ModelNodeHelper.asEnumValue;
@@ -64,16 +67,8 @@ public class ReadEnvironment implements BootstrapTask {
         this.keycloakHolder = keycloakHolder;
     }
 
-    @Override
-    public Completable call(FlowContext context) {
-        logger.debug("Read environment");
-
-        Keycloak keycloak = keycloakHolder.getKeycloak();
-        environment.setSingleSignOn(keycloak != null);
-        if (keycloak != null) {
-            logger.debug("Keycloak token: {}", keycloak.token);
-        }
-
+    /** The operations to read the root resource, the current user and the core services. */
+    static List<Operation> operations() {
         List<Operation> ops = new ArrayList<>();
         ops.add(new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
                 .param(ATTRIBUTES_ONLY, true)
@@ -84,8 +79,30 @@ public class ReadEnvironment implements BootstrapTask {
                 .param(CHILD_TYPE, CORE_SERVICE)
                 .param(RECURSIVE, false)
                 .build());
+        return ops;
+    }
 
-        return dispatcher.execute(new Composite(ops))
+    /** The operation to read the management versions of all subsystems. */
+    static Operation subsystemVersionsOperation() {
+        ResourceAddress address = new ResourceAddress().add(EXTENSION, "*").add(SUBSYSTEM, "*");
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+
+    @Override
+    public Completable call(FlowContext context) {
+        logger.debug("Read environment");
+
+        Keycloak keycloak = keycloakHolder.getKeycloak();
+        environment.setSingleSignOn(keycloak != null);
+        if (keycloak != null) {
+            logger.debug("Keycloak token: {}", keycloak.token);
+        }
+
+        CompositeResult prefetched = context.get(BootstrapReads.ENVIRONMENT_RESULT);
+        Single<CompositeResult> single = prefetched != null
+                ? Single.just(prefetched)
+                : dispatcher.execute(new Composite(operations()));
+        return single
                 .doOnSuccess((CompositeResult result) -> {
                     ModelNode node = result.step(0).get(RESULT);
 
@@ -148,6 +165,38 @@ public class ReadEnvironment implements BootstrapTask {
                     ModelNode step = result.step(2).get(RESULT);
                     environment.setPatchingEnabled(!environment.isStandalone() || step.get(PATCHING).isDefined());
                 })
-                .toCompletable();
+                .toCompletable()
+                .andThen(readSubsystemVersions(context));
+    }
+
+    /**
+     * Reads the management versions of all subsystems. They're used to version the metadata stored in the databases.
+     * Errors are ignored, in that case the metadata is versioned using the management model version.
+     */
+    private Completable readSubsystemVersions(FlowContext context) {
+        ModelNode prefetched = context.get(BootstrapReads.SUBSYSTEMS_RESULT);
+        Single<ModelNode> single = prefetched != null
+                ? Single.just(prefetched)
+                : dispatcher.execute(subsystemVersionsOperation());
+        return single
+                .doOnSuccess(result -> {
+                    Map<String, Version> versions = new HashMap<>();
+                    for (ModelNode node : result.asList()) {
+                        if (node.hasDefined(ADDRESS) && node.hasDefined(RESULT)) {
+                            String subsystem = new ResourceAddress(node.get(ADDRESS)).lastValue();
+                            Version version = ManagementModel.parseVersion(node.get(RESULT));
+                            if (subsystem != null && version != Version.EMPTY_VERSION) {
+                                versions.put(subsystem, version);
+                            }
+                        }
+                    }
+                    environment.setSubsystemVersions(versions);
+                    logger.debug("Read management versions of {} subsystems", versions.size());
+                })
+                .toCompletable()
+                .onErrorComplete(throwable -> {
+                    logger.warn("Unable to read subsystem versions: {}", throwable.getMessage());
+                    return true;
+                });
     }
 }
@@ -26,6 +26,7 @@ import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
 import rx.Completable;
+import rx.Single;
 
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
@@ -46,15 +47,23 @@ public class ReadHostNames implements BootstrapTask {
         this.environment = environment;
     }
 
+    /** The operation to read the host names. */
+    static Operation operation() {
+        return new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, HOST)
+                .build();
+    }
+
     @Override
     public Completable call(FlowContext context) {
         if (environment.isStandalone()) {
             return Completable.complete();
         } else {
-            Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
-                    .param(CHILD_TYPE, HOST)
-                    .build();
-            return dispatcher.execute(operation)
+            ModelNode prefetched = context.get(BootstrapReads.HOST_NAMES_RESULT);
+            Single<ModelNode> single = prefetched != null
+                    ? Single.just(prefetched)
+                    : dispatcher.execute(operation());
+            return single
                     .doOnSuccess(result -> {
                         List<String> hosts = result.asList().stream()
                                 .map(ModelNode::asString)
@@ -19,7 +19,6 @@ import java.util.List;
 
 import javax.inject.Inject;
 
-import org.jboss.hal.core.CrudOperations;
 import org.jboss.hal.core.finder.ColumnActionFactory;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderColumn;
@@ -28,6 +27,7 @@ import org.jboss.hal.core.finder.ItemActionFactory;
 import org.jboss.hal.core.finder.ItemDisplay;
 import org.jboss.hal.core.mvp.Places;
 import org.jboss.hal.dmr.NamedNode;
+import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.meta.token.NameTokens;
@@ -38,9 +38,11 @@ import org.jboss.hal.spi.Requires;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INET_ADDRESS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INTERFACE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.NAME;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
 import static org.jboss.hal.dmr.ModelNodeHelper.asNamedNodes;
 
 @Column(Ids.INTERFACE)
@@ -52,12 +54,17 @@ public class InterfaceColumn extends FinderColumn<NamedNode> {
             ColumnActionFactory columnActionFactory,
             ItemActionFactory itemActionFactory,
             Places places,
-            Dispatcher dispatcher,
-            CrudOperations crud) {
+            Dispatcher dispatcher) {
 
         super(new Builder<NamedNode>(finder, Ids.INTERFACE, Names.INTERFACE)
-                .itemsProvider((context, callback) -> crud.readChildren(ResourceAddress.root(), INTERFACE,
-                        result -> callback.onSuccess(asNamedNodes(result))))
+                .itemsProvider((context, callback) -> {
+                    Operation operation = new Operation.Builder(ResourceAddress.root(),
+                            READ_CHILDREN_RESOURCES_OPERATION)
+                            .param(CHILD_TYPE, INTERFACE)
+                            .build();
+                    dispatcher.executeCached(operation,
+                            result -> callback.onSuccess(asNamedNodes(result.asPropertyList())));
+                })
                 .useFirstActionAsBreadcrumbHandler()
                 .onPreview(item -> new InterfacePreview(item, dispatcher, places))
         );
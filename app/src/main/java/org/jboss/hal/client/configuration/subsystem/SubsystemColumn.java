@@ -143,7 +143,7 @@ public class SubsystemColumn extends FinderColumn<SubsystemMetadata> {
             ResourceAddress address = SUBSYSTEM_TEMPLATE.resolve(statementContext).getParent();
             Operation operation = new Operation.Builder(address, READ_CHILDREN_NAMES_OPERATION)
                     .param(CHILD_TYPE, SUBSYSTEM).build();
-            dispatcher.execute(operation, result -> {
+            dispatcher.executeCached(operation, result -> {
                 List<SubsystemMetadata> combined = new ArrayList<>();
                 for (ModelNode modelNode : result.asList()) {
                     String name = modelNode.asString();
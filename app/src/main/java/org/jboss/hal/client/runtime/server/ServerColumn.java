@@ -456,7 +456,7 @@ public class ServerColumn extends FinderColumn<Server> implements ServerActionHa
                     .param(CHILD_TYPE, HOST)
                     .build();
 
-            dispatcher.execute(operation, result -> {
+            dispatcher.executeCoalesced(operation, result -> {
 
                 List<String> hosts = new ArrayList<>();
                 result.asList().forEach(m -> hosts.add(m.asString()));
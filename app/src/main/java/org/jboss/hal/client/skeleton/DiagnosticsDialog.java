@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.skeleton;
+
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLTableElement;
+import org.jboss.gwt.elemento.core.Elements;
+import org.jboss.gwt.elemento.core.builder.HtmlContentBuilder;
+import org.jboss.hal.ballroom.dialog.Dialog;
+import org.jboss.hal.dmr.dispatch.DispatcherMetrics;
+import org.jboss.hal.dmr.dispatch.DispatcherMetrics.Metric;
+import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.AddressTrie;
+import org.jboss.hal.resources.Resources;
+
+import static org.jboss.gwt.elemento.core.Elements.*;
+import static org.jboss.hal.resources.CSS.*;
+
+/**
+ * Shows the slowest operations and address templates as recorded by the {@link DispatcherMetrics} and the statistics
+ * of the metadata registries.
+ */
+class DiagnosticsDialog {
+
+    private static final int MAX_ROWS = 15;
+
+    private final DispatcherMetrics metrics;
+    private final AbstractRegistry<?>[] registries;
+    private final HTMLElement operations;
+    private final HTMLElement templates;
+    private final HTMLElement metadata;
+    private final Dialog dialog;
+
+    DiagnosticsDialog(DispatcherMetrics metrics, Resources resources, AbstractRegistry<?>... registries) {
+        this.metrics = metrics;
+        this.registries = registries;
+
+        dialog = new Dialog.Builder(resources.constants().diagnostics())
+                .size(Dialog.Size.LARGE)
+                .primary(resources.constants().refresh(), () -> {
+                    update();
+                    return false;
+                })
+                .secondary(resources.constants().reset(), () -> {
+                    metrics.reset();
+                    update();
+                    return false;
+                })
+                .closeIcon(true)
+                .add(h(2).textContent(resources.constants().operations()).element())
+                .add(metricsTable(resources).add(operations = tbody().element()).element())
+                .add(h(2).textContent(resources.constants().address()).element())
+                .add(metricsTable(resources).add(templates = tbody().element()).element())
+                .add(h(2).textContent(resources.constants().metadata()).element())
+                .add(registryTable(resources).add(metadata = tbody().element()).element())
+                .build();
+    }
+
+    private HtmlContentBuilder<HTMLTableElement> metricsTable(Resources resources) {
+        return table().css(table, tableStriped, tableHover)
+                .add(thead()
+                        .add(tr()
+                                .add(th().textContent(resources.constants().name()))
+                                .add(th().textContent(resources.constants().requests()))
+                                .add(th().textContent(resources.constants().failures()))
+                                .add(th().textContent(resources.constants().averageMs()))
+                                .add(th().textContent(resources.constants().maxMs()))
+                                .add(th().textContent(resources.constants().decodeMs()))
+                                .add(th().textContent(resources.constants().responseKb()))));
+    }
+
+    private HtmlContentBuilder<HTMLTableElement> registryTable(Resources resources) {
+        return table().css(table, tableStriped, tableHover)
+                .add(thead()
+                        .add(tr()
+                                .add(th().textContent(resources.constants().name()))
+                                .add(th().textContent(resources.constants().entries()))
+                                .add(th().textContent(resources.constants().residentKb()))
+                                .add(th().textContent(resources.constants().maxKb()))
+                                .add(th().textContent(resources.constants().hitRate()))
+                                .add(th().textContent(resources.constants().evictions()))
+                                .add(th().textContent(resources.constants().reloads()))));
+    }
+
+    private void update() {
+        fill(operations, metrics.operations());
+        fill(templates, metrics.templates());
+        fill(metadata, registries);
+    }
+
+    private void fill(HTMLElement body, Metric[] rows) {
+        Elements.removeChildrenFrom(body);
+        for (int i = 0; i < rows.length && i < MAX_ROWS; i++) {
+            Metric metric = rows[i];
+            body.appendChild(tr()
+                    .add(td().textContent(metric.getName()))
+                    .add(td().textContent(String.valueOf(metric.getCount())))
+                    .add(td().textContent(String.valueOf(metric.getFailures())))
+                    .add(td().textContent(String.valueOf(Math.round(metric.getAverageTime()))))
+                    .add(td().textContent(String.valueOf(Math.round(metric.getMaxTime()))))
+                    .add(td().textContent(String.valueOf(Math.round(metric.getDecodeTime()))))
+                    .add(td().textContent(String.valueOf(Math.round(metric.getResponseBytes() / 1024))))
+                    .element());
+        }
+    }
+
+    private void fill(HTMLElement body, AbstractRegistry<?>[] registries) {
+        Elements.removeChildrenFrom(body);
+        for (AbstractRegistry<?> registry : registries) {
+            AddressTrie.Stats stats = registry.stats();
+            body.appendChild(tr()
+                    .add(td().textContent(registry.getType()))
+                    .add(td().textContent(String.valueOf(stats.getSize())))
+                    .add(td().textContent(String.valueOf(stats.getBytes() / 1024)))
+                    .add(td().textContent(String.valueOf(stats.getMaxBytes() / 1024)))
+                    .add(td().textContent(String.valueOf(Math.round(stats.getHitRate() * 100))))
+                    .add(td().textContent(String.valueOf(stats.getEvictions())))
+                    .add(td().textContent(String.valueOf(stats.getReloads())))
+                    .element());
+        }
+    }
+
+    void show() {
+        update();
+        dialog.show();
+    }
+}
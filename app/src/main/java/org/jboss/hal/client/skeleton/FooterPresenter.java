@@ -36,12 +36,15 @@ import org.jboss.hal.core.expression.ExpressionDialog;
 import org.jboss.hal.core.expression.ExpressionResolver;
 import org.jboss.hal.core.mvp.HalView;
 import org.jboss.hal.core.mvp.HasPresenter;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.dmr.macro.MacroFinishedEvent;
 import org.jboss.hal.dmr.macro.MacroFinishedEvent.MacroFinishedHandler;
 import org.jboss.hal.dmr.macro.MacroOperationEvent;
 import org.jboss.hal.dmr.macro.MacroOperationEvent.MacroOperationHandler;
 import org.jboss.hal.dmr.macro.Macros;
 import org.jboss.hal.dmr.macro.Recording;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.meta.token.NameTokens;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.Message;
@@ -53,8 +56,11 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
     private final Environment environment;
     private final PlaceManager placeManager;
     private final Settings settings;
+    private final Dispatcher dispatcher;
     private final Macros macros;
     private final ExpressionResolver expressionResolver;
+    private final ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private final SecurityContextRegistry securityContextRegistry;
     private final Resources resources;
     private final AboutDialog aboutDialog;
     private boolean recording;
@@ -67,15 +73,21 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
             Endpoints endpoints,
             PlaceManager placeManager,
             Settings settings,
+            Dispatcher dispatcher,
             Macros macros,
             ExpressionResolver expressionResolver,
+            ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry,
             Resources resources) {
         super(eventBus, view);
         this.environment = environment;
         this.placeManager = placeManager;
         this.settings = settings;
+        this.dispatcher = dispatcher;
         this.macros = macros;
         this.expressionResolver = expressionResolver;
+        this.resourceDescriptionRegistry = resourceDescriptionRegistry;
+        this.securityContextRegistry = securityContextRegistry;
         this.resources = resources;
         this.aboutDialog = new AboutDialog(environment, endpoints, resources);
     }
@@ -113,6 +125,11 @@ public class FooterPresenter extends PresenterWidget<FooterPresenter.MyView>
         new ExpressionDialog(expressionResolver, environment, resources).show();
     }
 
+    void onDiagnostics() {
+        new DiagnosticsDialog(dispatcher.metrics(), resources, resourceDescriptionRegistry, securityContextRegistry)
+                .show();
+    }
+
     void onMacroRecording() {
         if (recording) {
             recording = false;
@@ -70,6 +70,7 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
         HTMLElement showVersion;
         HTMLElement modelBrowser;
         HTMLElement expressionResolver;
+        HTMLElement diagnostics;
         HTMLElement settings;
         HTMLElement root = footer().css(footer)
                 .add(nav().css(navbar, navbarFooter, navbarFixedBottom)
@@ -111,6 +112,10 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
                                                         .add(expressionResolver = a().css(clickable)
                                                                 .textContent(resources.constants().expressionResolver())
                                                                 .element()))
+                                                .add(li()
+                                                        .add(diagnostics = a().css(clickable)
+                                                                .textContent(resources.constants().diagnostics())
+                                                                .element()))
                                                 .add(li()
                                                         .add(macroRecorder = a().css(clickable)
                                                                 .textContent(resources.constants().startMacro())
@@ -134,6 +139,7 @@ public class FooterView extends HalViewImpl implements FooterPresenter.MyView {
         bind(showVersion, click, event -> presenter.onShowVersion());
         bind(modelBrowser, click, event -> presenter.onModelBrowser());
         bind(expressionResolver, click, event -> presenter.onExpressionResolver());
+        bind(diagnostics, click, event -> presenter.onDiagnostics());
         bind(macroRecorder, click, event -> presenter.onMacroRecording());
         bind(macroEditor, click, event -> presenter.onMacroEditor());
         bind(settings, click, event -> presenter.onSettings());
@@ -16,54 +16,87 @@
 package org.jboss.hal.ballroom.dataprovider;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collector;
-import java.util.stream.Stream;
 
-import com.google.common.collect.Lists;
 import org.jboss.hal.ballroom.listview.ListView;
 import org.jboss.hal.config.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.lang.Math.min;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
+import static java.util.Collections.singletonList;
 import static org.jboss.hal.config.Settings.DEFAULT_PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 
 /**
  * Holds items and state for displays like {@link ListView}. Changes to the state is reflected in the connected
  * displays.
+ * <p>
+ * By default all items are passed to {@link #update(Iterable)} and filtered, sorted and paged on the client. The data
+ * provider keeps a sorted index of all items and the filtered items in sort order, so changes are applied
+ * incrementally:
+ * <ul>
+ * <li>a new sort order re-sorts the index, but doesn't run the filters again</li>
+ * <li>a new filter or a filter which {@linkplain Filter#narrows(String, String) narrows} its previous value is only
+ * tested against the current result</li>
+ * <li>{@link #addOrReplace(Iterable)} and {@link #remove(Iterable)} sort and filter the changed items only and keep
+ * the paging and selection</li>
+ * </ul>
+ * <p>
+ * In remote mode the data provider is created with a {@link DataSource}. Every change to the page, the filters or the
+ * sort order is then turned into a {@link Query} and only the items of the visible page are fetched and held.
  */
 public class DataProvider<T> {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataProvider.class);
+
     private final Function<T, String> identifier;
+    private final DataSource<T> dataSource;
     private final PageInfo pageInfo;
     private final SelectionInfo<T> selectionInfo;
     private final Map<String, T> allItems;
+    private final Map<String, Integer> sequence;
+    private final List<T> sortedItems;
     private final Map<String, FilterValue<T>> filterValues;
     private final List<Display<T>> displays;
     private List<SelectHandler<T>> selectHandler;
-    private Map<String, T> filteredItems;
+    private List<T> filteredItems;
     private Map<String, T> visibleItems;
     private Comparator<T> comparator;
+    private int nextSequence;
+    private int fetches;
 
     public DataProvider(Function<T, String> identifier, boolean multiSelect) {
-        this(identifier, multiSelect, Settings.INSTANCE.get(PAGE_SIZE).asInt(DEFAULT_PAGE_SIZE));
+        this(identifier, multiSelect, Settings.INSTANCE.get(PAGE_SIZE).asInt(DEFAULT_PAGE_SIZE), null);
+    }
+
+    /** Creates a data provider in remote mode. Call {@link #reload()} to fetch the first page. */
+    public DataProvider(Function<T, String> identifier, boolean multiSelect, DataSource<T> dataSource) {
+        this(identifier, multiSelect, Settings.INSTANCE.get(PAGE_SIZE).asInt(DEFAULT_PAGE_SIZE), dataSource);
     }
 
     DataProvider(Function<T, String> identifier, boolean multiSelect, int pageSize) {
+        this(identifier, multiSelect, pageSize, null);
+    }
+
+    DataProvider(Function<T, String> identifier, boolean multiSelect, int pageSize, DataSource<T> dataSource) {
         this.identifier = identifier;
+        this.dataSource = dataSource;
         this.pageInfo = new PageInfo(pageSize);
         this.selectionInfo = new SelectionInfo<>(identifier, multiSelect);
         this.allItems = new LinkedHashMap<>();
-        this.filteredItems = new LinkedHashMap<>();
+        this.sequence = new HashMap<>();
+        this.sortedItems = new ArrayList<>();
+        this.filteredItems = new ArrayList<>();
         this.visibleItems = new LinkedHashMap<>();
         this.filterValues = new HashMap<>();
         this.selectHandler = new ArrayList<>();
@@ -77,13 +110,82 @@ public class DataProvider<T> {
 
     /** Replaces the items, resets the paging and selection and applies the current filter and sort order. */
     public void update(Iterable<T> items) {
+        assertLocal("update()");
         reset();
         for (T item : items) {
-            allItems.put(getId(item), item);
+            put(getId(item), item);
+        }
+        sort();
+        filter(sortedItems, filterValues.values());
+        page();
+        show();
+    }
+
+    /**
+     * Adds new items and replaces existing items with the same id. Unlike {@link #update(Iterable)} this keeps the
+     * paging and selection. Only the specified items are sorted into the current order and tested against the
+     * filters.
+     */
+    public void addOrReplace(Iterable<T> items) {
+        assertLocal("addOrReplace()");
+        for (T item : items) {
+            String id = getId(item);
+            T existing = allItems.get(id);
+            if (existing != null) {
+                remove(sortedItems, existing);
+                remove(filteredItems, existing);
+                if (selectionInfo.isSelected(existing)) {
+                    selectionInfo.add(id, item);
+                }
+            }
+            put(id, item);
+            insert(sortedItems, item);
+            if (matches(item, filterValues.values())) {
+                insert(filteredItems, item);
+            }
+        }
+        page();
+        show();
+    }
+
+    /** Removes the items with the same ids as the specified items. Keeps the paging and selection of other items. */
+    public void remove(Iterable<T> items) {
+        assertLocal("remove()");
+        for (T item : items) {
+            String id = getId(item);
+            T existing = allItems.get(id);
+            if (existing != null) {
+                remove(sortedItems, existing);
+                remove(filteredItems, existing);
+                allItems.remove(id);
+                sequence.remove(id);
+                selectionInfo.remove(id);
+            }
+        }
+        page();
+        show();
+    }
+
+    /**
+     * Resets the paging and selection and fetches the first page from the data source. In local mode the current
+     * filter and sort order are applied again.
+     */
+    public void reload() {
+        if (isRemote()) {
+            pageInfo.reset();
+            selectionInfo.reset();
+            fetch();
+        } else {
+            sort();
+            filter(sortedItems, filterValues.values());
+            page();
+            show();
         }
-        applyFilterSortAndPaging();
-        showItems();
-        updateSelection();
+    }
+
+    /** @return whether this data provider fetches its items from a {@link DataSource} */
+    public boolean isRemote() {
+        return dataSource != null;
     }
 
     public boolean contains(T item) {
@@ -103,7 +205,7 @@ public class DataProvider<T> {
     }
 
     public Iterable<T> getFilteredItems() {
-        return filteredItems.values();
+        return filteredItems;
     }
 
     public Iterable<T> getVisibleItems() {
@@ -112,58 +214,186 @@ public class DataProvider<T> {
 
     private void reset() {
         allItems.clear();
+        sequence.clear();
+        sortedItems.clear();
+        filteredItems = new ArrayList<>();
+        nextSequence = 0;
         pageInfo.reset();
         selectionInfo.reset();
     }
 
-    private void applyFilterSortAndPaging() {
-        Stream<T> stream = allItems.values().stream();
-        if (!filterValues.isEmpty()) {
-            Predicate<T> predicate = null;
-            for (FilterValue<T> filterValue : filterValues.values()) {
-                if (predicate == null) {
-                    predicate = i -> filterValue.getFilter().test(i, filterValue.getValue());
-                } else {
-                    predicate = predicate.and(i -> filterValue.getFilter().test(i, filterValue.getValue()));
-                }
-            }
-            stream = stream.filter(predicate);
+    private void assertLocal(String method) {
+        if (isRemote()) {
+            throw new IllegalStateException("DataProvider." + method + " is not supported in remote mode.");
         }
+    }
+
+    private void put(String id, T item) {
+        allItems.put(id, item);
+        if (!sequence.containsKey(id)) {
+            sequence.put(id, nextSequence++);
+        }
+    }
+
+
+    // ------------------------------------------------------ sorted index
+
+    /** The current sort order: the comparator or the order in which the items were added. */
+    private Comparator<T> order() {
+        return comparator != null ? comparator : Comparator.comparing(item -> sequence.get(getId(item)));
+    }
+
+    /** Rebuilds the sorted index from all items. */
+    private void sort() {
+        sortedItems.clear();
+        sortedItems.addAll(allItems.values());
         if (comparator != null) {
-            stream = stream.sorted(comparator);
+            sortedItems.sort(comparator);
         }
-        List<T> values = stream.collect(toList());
-        if (values.size() > pageInfo.getPageSize()) {
-            filteredItems = values.stream().collect(toLinkedMap(identifier, identity()));
-            values = paged(values);
-            visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+    }
+
+    /** Inserts the item into the list which must be in sort order. Equal items keep the order they were inserted. */
+    private void insert(List<T> list, T item) {
+        Comparator<T> order = order();
+        int index = Collections.binarySearch(list, item, order);
+        if (index < 0) {
+            index = -index - 1;
         } else {
-            filteredItems = visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+            while (index < list.size() && order.compare(list.get(index), item) == 0) {
+                index++;
+            }
         }
-        pageInfo.setTotal(filteredItems.size()); // total first!
-        pageInfo.setVisible(visibleItems.size());
+        list.add(index, item);
     }
 
-    private Collector<T, ?, Map<String, T>> toLinkedMap(Function<? super T, ? extends String> keyMapper,
-            Function<? super T, ? extends T> valueMapper) {
-        return toMap(keyMapper, valueMapper,
-                (u, v) -> {
-                    throw new IllegalStateException("Duplicate key " + u); //NON-NLS
-                },
-                LinkedHashMap::new);
+    /** Removes the item (by identity) from the list which must be in sort order. */
+    private void remove(List<T> list, T item) {
+        int index = indexOf(list, item);
+        if (index != -1) {
+            list.remove(index);
+        }
+    }
+
+    private int indexOf(List<T> list, T item) {
+        Comparator<T> order = order();
+        int index = Collections.binarySearch(list, item, order);
+        if (index >= 0) {
+            for (int i = index; i >= 0 && order.compare(list.get(i), item) == 0; i--) {
+                if (list.get(i) == item) {
+                    return i;
+                }
+            }
+            for (int i = index + 1; i < list.size() && order.compare(list.get(i), item) == 0; i++) {
+                if (list.get(i) == item) {
+                    return i;
+                }
+            }
+        }
+        // the item might have been modified in place
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == item) {
+                return i;
+            }
+        }
+        return -1;
     }
 
 
+    // ------------------------------------------------------ filter and paging
+
+    /** Keeps the candidates which match all filters. The candidates must be in sort order. */
+    private void filter(List<T> candidates, Collection<FilterValue<T>> filters) {
+        List<T> matching = new ArrayList<>();
+        for (T item : candidates) {
+            if (matches(item, filters)) {
+                matching.add(item);
+            }
+        }
+        filteredItems = matching;
+    }
+
+    private boolean matches(T item, Collection<FilterValue<T>> filters) {
+        for (FilterValue<T> filterValue : filters) {
+            if (!filterValue.getFilter().test(item, filterValue.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Whether the current filter value only narrows down the result of the previous value. */
+    private boolean narrows(FilterValue<T> previous, FilterValue<T> current) {
+        return previous == null || (previous.getFilter() == current.getFilter() &&
+                current.getFilter().narrows(previous.getValue(), current.getValue()));
+    }
+
+    private void page() {
+        int size = filteredItems.size();
+        int pageSize = pageInfo.getPageSize();
+        List<T> values = filteredItems;
+        if (size > pageSize) {
+            int pages = (size + pageSize - 1) / pageSize;
+            int from = min(pageInfo.getPage(), pages - 1) * pageSize;
+            values = filteredItems.subList(from, min(size, from + pageSize));
+        }
+        visibleItems = new LinkedHashMap<>();
+        for (T item : values) {
+            visibleItems.put(getId(item), item);
+        }
+        pageInfo.setTotal(size); // total first!
+        pageInfo.setVisible(visibleItems.size());
+    }
+
+
+    // ------------------------------------------------------ remote
+
+    private void fetch() {
+        int fetch = ++fetches;
+        Query<T> query = new Query<>(pageInfo.getPage(), pageInfo.getPageSize(), new HashMap<>(filterValues),
+                comparator);
+        dataSource.fetch(query, new DataSource.ResultCallback<T>() {
+            @Override
+            public void onSuccess(Iterable<T> items, int total) {
+                if (fetch == fetches) {
+                    allItems.clear();
+                    for (T item : items) {
+                        allItems.put(getId(item), item);
+                    }
+                    filteredItems = new ArrayList<>(allItems.values());
+                    visibleItems = new LinkedHashMap<>(allItems);
+                    pageInfo.setTotal(total); // total first!
+                    pageInfo.setVisible(visibleItems.size());
+                    show();
+                } else {
+                    logger.debug("Discard result of outdated {}", query);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                logger.error("Unable to fetch {}: {}", query, throwable.getMessage());
+            }
+        });
+    }
+
+    /** In remote mode a new filter or sort order starts at the first page, since the total is not yet known. */
+    private void fetchFirstPage() {
+        pageInfo.setPage(0);
+        fetch();
+    }
     // ------------------------------------------------------ selection
 
     public void onSelect(SelectHandler<T> selectHandler) {
         this.selectHandler.add(selectHandler);
     }
 
-    /** Selects all items if {@ocde multiSelect == true}. Does not fire selection events */
+    /**
+     * Selects all items if {@ocde multiSelect == true}. Does not fire selection events. In remote mode only the items
+     * of the current page are known and selected.
+     */
     public void selectAll() {
         if (selectionInfo.isMultiSelect()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, true));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -179,7 +409,7 @@ public class DataProvider<T> {
     /** Clears the selection for all items */
     public void clearAllSelection() {
         if (selectionInfo.hasSelection()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, false));
+            filteredItems.forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -222,28 +452,36 @@ public class DataProvider<T> {
 
     // ------------------------------------------------------ filter
 
+    /**
+     * Adds or replaces the named filter. If the filter is new or {@linkplain Filter#narrows(String, String) narrows}
+     * its previous value, only the current result is tested.
+     */
     public void addFilter(String name, FilterValue<T> filter) {
-        filterValues.put(name, filter);
-        applyFilterSortAndPaging();
-        showItems();
-        updateSelection();
+        FilterValue<T> previous = filterValues.put(name, filter);
+        if (isRemote()) {
+            fetchFirstPage();
+        } else {
+            if (narrows(previous, filter)) {
+                filter(filteredItems, singletonList(filter));
+            } else {
+                filter(sortedItems, filterValues.values());
+            }
+            page();
+            show();
+        }
     }
 
     public void removeFilter(String name) {
         if (filterValues.containsKey(name)) {
             filterValues.remove(name);
-            applyFilterSortAndPaging();
-            showItems();
-            updateSelection();
+            refilter();
         }
     }
 
     public void clearFilters() {
         if (!filterValues.isEmpty()) {
             filterValues.clear();
-            applyFilterSortAndPaging();
-            showItems();
-            updateSelection();
+            refilter();
         }
     }
 
@@ -256,14 +494,44 @@ public class DataProvider<T> {
         return !filterValues.isEmpty();
     }
 
+    private void refilter() {
+        if (isRemote()) {
+            fetchFirstPage();
+        } else {
+            filter(sortedItems, filterValues.values());
+            page();
+            show();
+        }
+    }
+
 
     // ------------------------------------------------------ sort
 
+    /** Sets the sort order. In local mode the items are re-sorted, but not filtered again. */
     public void setComparator(Comparator<T> comparator) {
         this.comparator = comparator;
-        applyFilterSortAndPaging();
-        showItems();
-        updateSelection();
+        if (isRemote()) {
+            fetchFirstPage();
+        } else {
+            Set<String> filteredIds = new HashSet<>();
+            if (!filterValues.isEmpty()) {
+                filteredItems.forEach(item -> filteredIds.add(getId(item)));
+            }
+            sort();
+            if (filterValues.isEmpty()) {
+                filteredItems = new ArrayList<>(sortedItems);
+            } else {
+                List<T> sorted = new ArrayList<>();
+                for (T item : sortedItems) {
+                    if (filteredIds.contains(getId(item))) {
+                        sorted.add(item);
+                    }
+                }
+                filteredItems = sorted;
+            }
+            page();
+            show();
+        }
     }
 
     public Comparator<T> getComparator() {
@@ -277,9 +545,12 @@ public class DataProvider<T> {
         int oldPageSize = pageInfo.getPageSize();
         pageInfo.setPageSize(pageSize);
         if (oldPageSize != pageInfo.getPageSize()) {
-            applyFilterSortAndPaging();
-            showItems();
-            updateSelection();
+            if (isRemote()) {
+                fetchFirstPage();
+            } else {
+                page();
+                show();
+            }
         }
     }
 
@@ -303,9 +574,12 @@ public class DataProvider<T> {
         int oldPage = pageInfo.getPage();
         pageInfo.setPage(page);
         if (oldPage != pageInfo.getPage()) {
-            applyFilterSortAndPaging();
-            showItems();
-            updateSelection();
+            if (isRemote()) {
+                fetch();
+            } else {
+                page();
+                show();
+            }
         }
     }
 
@@ -313,11 +587,6 @@ public class DataProvider<T> {
         return pageInfo;
     }
 
-    private List<T> paged(List<T> values) {
-        List<List<T>> pages = Lists.partition(values, pageInfo.getPageSize());
-        return pages.get(min(pageInfo.getPage(), pages.size() - 1));
-    }
-
 
     // ------------------------------------------------------ displays
 
@@ -325,6 +594,11 @@ public class DataProvider<T> {
         displays.add(display);
     }
 
+    private void show() {
+        showItems();
+        updateSelection();
+    }
+
     private void showItems() {
         for (Display<T> display : displays) {
             display.showItems(visibleItems.values(), pageInfo);
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.dataprovider;
+
+/**
+ * Fetches the items of one page for a {@link DataProvider} in remote mode. Implementations translate the {@link Query}
+ * into a request which returns only the requested page, e.g. a DMR {@code query} operation using {@code where} and
+ * {@code select} or operation specific paging parameters.
+ */
+@FunctionalInterface
+public interface DataSource<T> {
+
+    void fetch(Query<T> query, ResultCallback<T> callback);
+
+
+    interface ResultCallback<T> {
+
+        /**
+         * @param items the items of the requested page in display order
+         * @param total the total number of items which match the filters of the query
+         */
+        void onSuccess(Iterable<T> items, int total);
+
+        void onFailure(Throwable throwable);
+    }
+}
@@ -15,9 +15,40 @@
  */
 package org.jboss.hal.ballroom.dataprovider;
 
+import java.util.function.Function;
+
 /** A filter for an attribute in a {@link DataProvider} */
 @FunctionalInterface
 public interface Filter<T> {
 
+    /**
+     * Returns a filter which matches if the value of the item contains the filter value. Extending the filter value
+     * narrows the result.
+     */
+    static <T> Filter<T> contains(Function<T, String> value) {
+        return new Filter<T>() {
+            @Override
+            public boolean test(T model, String filter) {
+                String modelValue = value.apply(model);
+                return modelValue != null && modelValue.contains(filter);
+            }
+
+            @Override
+            public boolean narrows(String previous, String current) {
+                return previous != null && current != null && current.contains(previous);
+            }
+        };
+    }
+
     boolean test(T model, String filter);
+
+    /**
+     * Whether all items which match {@code current} also match {@code previous}. If so, the {@link DataProvider} only
+     * tests the current result against the new value.
+     *
+     * @return {@code false} by default
+     */
+    default boolean narrows(String previous, String current) {
+        return false;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.dataprovider;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/** The page, filters and sort order requested by a {@link DataProvider} from its {@link DataSource}. */
+public class Query<T> {
+
+    private final int page;
+    private final int pageSize;
+    private final Map<String, FilterValue<T>> filters;
+    private final Comparator<T> comparator;
+
+    Query(int page, int pageSize, Map<String, FilterValue<T>> filters, Comparator<T> comparator) {
+        this.page = page;
+        this.pageSize = pageSize;
+        this.filters = unmodifiableMap(filters);
+        this.comparator = comparator;
+    }
+
+    @Override
+    public String toString() {
+        return "Query(page=" + page + ", pageSize=" + pageSize + ", filters=" + filters.keySet() + ')';
+    }
+
+    /** @return the zero based index of the requested page */
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /** @return the zero based index of the first requested item */
+    public int getOffset() {
+        return page * pageSize;
+    }
+
+    /** @return the filters by name */
+    public Map<String, FilterValue<T>> getFilters() {
+        return filters;
+    }
+
+    /** @return the comparator as set by {@link DataProvider#setComparator(Comparator)} or {@code null} */
+    public Comparator<T> getComparator() {
+        return comparator;
+    }
+}
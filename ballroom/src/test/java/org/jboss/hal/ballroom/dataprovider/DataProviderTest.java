@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.ballroom.dataprovider;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -22,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
@@ -33,6 +35,7 @@ import static com.google.common.primitives.Ints.asList;
 import static java.lang.Integer.parseInt;
 import static java.lang.System.arraycopy;
 import static java.util.Comparator.naturalOrder;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -446,6 +449,175 @@ public class DataProviderTest {
     }
 
 
+    @Test
+    public void narrowFilter() throws Exception {
+        int[] tests = new int[1];
+        Filter<Integer> contains = new Filter<Integer>() {
+            @Override
+            public boolean test(Integer model, String filter) {
+                tests[0]++;
+                return String.valueOf(model).contains(filter);
+            }
+
+            @Override
+            public boolean narrows(String previous, String current) {
+                return current.contains(previous);
+            }
+        };
+        single.update(asList(items(42)));
+
+        single.addFilter("contains", new FilterValue<>(contains, "1"));
+        assertEquals(42, tests[0]);
+        assertArrayEquals(new int[]{1, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 21, 31, 41},
+                toArray(single.getFilteredItems()));
+
+        // only the current result is tested
+        single.addFilter("contains", new FilterValue<>(contains, "11"));
+        assertEquals(56, tests[0]);
+        assertArrayEquals(new int[]{11}, toArray(single.getFilteredItems()));
+
+        // a new filter is only tested against the current result
+        single.addFilter("even", new FilterValue<>(DIVISIBLE, "2"));
+        assertArrayEquals(new int[0], toArray(single.getFilteredItems()));
+
+        // all items are tested again
+        single.removeFilter("even");
+        single.addFilter("contains", new FilterValue<>(contains, "2"));
+        assertEquals(56 + 42 + 42, tests[0]);
+        assertArrayEquals(new int[]{2, 12, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 32},
+                toArray(single.getFilteredItems()));
+    }
+
+    @Test
+    public void sortFiltered() throws Exception {
+        single.update(asList(0, 8, 1, 5, 6, 3));
+        single.addFilter("even", new FilterValue<>(DIVISIBLE, "2"));
+        single.setComparator(Comparator.<Integer>naturalOrder().reversed());
+        assertVisibleFilteredAll(single, new int[]{8, 6, 0}, new int[]{8, 6, 0}, new int[]{0, 8, 1, 5, 6, 3});
+
+        single.setComparator(null);
+        assertVisibleFilteredAll(single, new int[]{0, 8, 6}, new int[]{0, 8, 6}, new int[]{0, 8, 1, 5, 6, 3});
+    }
+
+
+    // ------------------------------------------------------ add, replace and remove
+
+    @Test
+    public void addOrReplace() throws Exception {
+        single.update(asList(5, 1, 3));
+        single.addOrReplace(asList(4, 1));
+        assertVisibleFilteredAll(single, new int[]{5, 1, 3, 4}, new int[]{5, 1, 3, 4}, new int[]{5, 1, 3, 4});
+    }
+
+    @Test
+    public void addOrReplaceSortedAndFiltered() throws Exception {
+        single.update(asList(5, 1, 3));
+        single.setComparator(naturalOrder());
+        single.addFilter("odd", new FilterValue<>((number, filter) -> number % 2 == 1, ""));
+
+        reset(display);
+        single.addOrReplace(asList(4, 7, 3));
+        int[] odd = {1, 3, 5, 7};
+        assertVisibleFilteredAll(single, odd, odd, new int[]{5, 1, 3, 4, 7});
+        verify(display).showItems(itemsMatcher(odd), eq(new PageInfo(PAGE_SIZE, 0, 4, 4)));
+    }
+
+    @Test
+    public void addOrReplaceKeepsPage() throws Exception {
+        single.update(asList(items(42)));
+        single.gotoNextPage();
+
+        reset(display);
+        single.addOrReplace(asList(42));
+        assertVisibleFilteredAll(single, items(10, 19), items(43), items(43));
+        verify(display).showItems(itemsMatcher(items(10, 19)), eq(new PageInfo(PAGE_SIZE, 1, PAGE_SIZE, 43)));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        multi.update(asList(items(PAGE_SIZE + 2)));
+        multi.select(3, true);
+        multi.select(5, true);
+
+        reset(display);
+        multi.remove(asList(3, 4));
+        int[] remaining = {0, 1, 2, 5, 6, 7, 8, 9, 10, 11};
+        assertVisibleFilteredAll(multi, remaining, remaining, remaining);
+        assertSelection(multi, new int[]{5});
+        verify(display).showItems(itemsMatcher(remaining), eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, PAGE_SIZE)));
+    }
+
+
+    // ------------------------------------------------------ remote
+
+    @Test
+    public void remote() throws Exception {
+        List<Query<Integer>> queries = new ArrayList<>();
+        DataProvider<Integer> remote = new DataProvider<>(IDENTIFIER, false, PAGE_SIZE, (query, callback) -> {
+            queries.add(query);
+            remoteFetch(items(42), query, callback);
+        });
+        remote.addDisplay(display);
+
+        remote.reload();
+        assertTrue(remote.isRemote());
+        assertVisibleFilteredAll(remote, items(PAGE_SIZE), items(PAGE_SIZE), items(PAGE_SIZE));
+        verify(display).showItems(itemsMatcher(items(PAGE_SIZE)), eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, 42)));
+
+        reset(display);
+        remote.gotoLastPage();
+        assertEquals(40, queries.get(queries.size() - 1).getOffset());
+        verify(display).showItems(itemsMatcher(items(40, 41)), eq(new PageInfo(PAGE_SIZE, 4, 2, 42)));
+
+        // a new filter starts at the first page
+        reset(display);
+        remote.addFilter("even", new FilterValue<>(DIVISIBLE, "2"));
+        assertEquals(0, queries.get(queries.size() - 1).getPage());
+        verify(display).showItems(itemsMatcher(new int[]{0, 2, 4, 6, 8, 10, 12, 14, 16, 18}),
+                eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, 21)));
+
+        reset(display);
+        remote.setComparator(Comparator.<Integer>naturalOrder().reversed());
+        verify(display).showItems(itemsMatcher(new int[]{40, 38, 36, 34, 32, 30, 28, 26, 24, 22}),
+                eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, 21)));
+        assertEquals(4, queries.size());
+    }
+
+    @Test
+    public void remoteOutdated() throws Exception {
+        List<DataSource.ResultCallback<Integer>> callbacks = new ArrayList<>();
+        DataProvider<Integer> remote = new DataProvider<>(IDENTIFIER, false, PAGE_SIZE,
+                (query, callback) -> callbacks.add(callback));
+        remote.addDisplay(display);
+
+        remote.reload();
+        remote.reload();
+        callbacks.get(1).onSuccess(asList(items(2)), 2);
+        callbacks.get(0).onSuccess(asList(items(5)), 5);
+        assertVisibleFilteredAll(remote, items(2), items(2), items(2));
+        verify(display).showItems(itemsMatcher(items(2)), eq(new PageInfo(PAGE_SIZE, 0, 2, 2)));
+        verify(display, never()).showItems(itemsMatcher(items(5)), any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void remoteUpdate() throws Exception {
+        new DataProvider<Integer>(IDENTIFIER, false, PAGE_SIZE, (query, callback) -> {}).update(asList(items(2)));
+    }
+
+    private void remoteFetch(int[] items, Query<Integer> query, DataSource.ResultCallback<Integer> callback) {
+        Stream<Integer> stream = asList(items).stream();
+        for (FilterValue<Integer> filterValue : query.getFilters().values()) {
+            stream = stream.filter(i -> filterValue.getFilter().test(i, filterValue.getValue()));
+        }
+        if (query.getComparator() != null) {
+            stream = stream.sorted(query.getComparator());
+        }
+        List<Integer> matching = stream.collect(toList());
+        int to = Math.min(matching.size(), query.getOffset() + query.getPageSize());
+        callback.onSuccess(matching.subList(query.getOffset(), to), matching.size());
+    }
+
+
     // ------------------------------------------------------ helper methods
 
     private void assertVisibleFilteredAll(DataProvider<Integer> dp, int[] visible, int[] filtered, int[] all) {
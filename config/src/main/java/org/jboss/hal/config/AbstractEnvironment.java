@@ -15,7 +15,9 @@
  */
 package org.jboss.hal.config;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.hal.config.rebind.EnvironmentGenerator;
 
@@ -43,6 +45,7 @@ public abstract class AbstractEnvironment implements Environment {
     private OperationMode operationMode;
     private String domainController;
     private Version managementVersion;
+    private Map<String, Version> subsystemVersions;
     private AccessControlProvider accessControlProvider;
     private boolean sso;
     private boolean patchingEnabled;
@@ -61,6 +64,7 @@ public abstract class AbstractEnvironment implements Environment {
         this.organization = null;
         this.domainController = null;
         this.managementVersion = Version.EMPTY_VERSION;
+        this.subsystemVersions = Collections.emptyMap();
         this.accessControlProvider = AccessControlProvider.SIMPLE;
     }
 
@@ -144,6 +148,16 @@ public abstract class AbstractEnvironment implements Environment {
         managementVersion = version;
     }
 
+    @Override
+    public Map<String, Version> getSubsystemVersions() {
+        return subsystemVersions;
+    }
+
+    @Override
+    public void setSubsystemVersions(Map<String, Version> subsystemVersions) {
+        this.subsystemVersions = subsystemVersions;
+    }
+
     @Override
     public AccessControlProvider getAccessControlProvider() {
         return accessControlProvider;
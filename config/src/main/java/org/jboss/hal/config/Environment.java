@@ -16,6 +16,7 @@
 package org.jboss.hal.config;
 
 import java.util.List;
+import java.util.Map;
 
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsProperty;
@@ -80,6 +81,13 @@ public interface Environment {
     @JsIgnore
     void setManagementVersion(Version version);
 
+    /** @return the management model versions of the subsystems by subsystem name. */
+    @JsIgnore
+    Map<String, Version> getSubsystemVersions();
+
+    @JsIgnore
+    void setSubsystemVersions(Map<String, Version> subsystemVersions);
+
     @JsIgnore
     AccessControlProvider getAccessControlProvider();
 
@@ -34,6 +34,10 @@ public class Settings {
     @Inject public static Settings INSTANCE; // use only if no DI is available!
     public static final String DEFAULT_LOCALE = "en";
     public static final int DEFAULT_PAGE_SIZE = 10;
+    // number of r-r-d composites executed in parallel when loading metadata (1 = sequential)
+    public static final int DEFAULT_METADATA_CONCURRENCY = 3;
+    // megabytes (estimated) shared by the resource description and security context registries
+    public static final int DEFAULT_METADATA_CACHE_SIZE = 12;
     // keep in sync with the poll-time attribute of settings.dmr
     public static final int DEFAULT_POLL_TIME = 10;
     public static final int[] PAGE_SIZE_VALUES = new int[]{10, 20, 50};
@@ -87,6 +91,8 @@ public class Settings {
         TITLE("title", true),
         COLLECT_USER_DATA("collect-user-data", true),
         LOCALE("locale", true),
+        METADATA_CACHE_SIZE("metadata-cache-size", true),
+        METADATA_CONCURRENCY("metadata-concurrency", true),
         PAGE_SIZE("page-size", true),
         POLL("poll", true),
         POLL_TIME("poll-time", true),
@@ -100,6 +106,10 @@ public class Settings {
                     return COLLECT_USER_DATA;
                 case "locale":
                     return LOCALE;
+                case "metadata-cache-size":
+                    return METADATA_CACHE_SIZE;
+                case "metadata-concurrency":
+                    return METADATA_CONCURRENCY;
                 case "page-size":
                     return PAGE_SIZE;
                 case "poll":
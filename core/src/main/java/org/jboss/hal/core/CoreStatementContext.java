@@ -17,6 +17,7 @@ package org.jboss.hal.core;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.inject.Inject;
 
@@ -44,6 +45,9 @@ public class CoreStatementContext implements StatementContext,
 
     private final Environment environment;
     private final Map<Expression, String> context;
+    private long generation;
+    private boolean standalone;
+    private String domainController;
 
     @Inject
     public CoreStatementContext(Environment environment, EventBus eventBus) {
@@ -56,6 +60,7 @@ public class CoreStatementContext implements StatementContext,
         context.put(SELECTED_HOST, null);
         context.put(SELECTED_SERVER_CONFIG, null);
         context.put(SELECTED_SERVER, null);
+        generation = StatementContext.nextGeneration();
 
         eventBus.addHandler(ProfileSelectionEvent.getType(), this);
         eventBus.addHandler(ServerGroupSelectionEvent.getType(), this);
@@ -89,18 +94,21 @@ public class CoreStatementContext implements StatementContext,
     @Override
     public void onProfileSelection(ProfileSelectionEvent event) {
         context.put(SELECTED_PROFILE, event.getProfile());
+        generation = StatementContext.nextGeneration();
         logger.info("Selected profile {}", event.getProfile());
     }
 
     @Override
     public void onServerGroupSelection(ServerGroupSelectionEvent event) {
         context.put(SELECTED_GROUP, event.getServerGroup());
+        generation = StatementContext.nextGeneration();
         logger.info("Selected server-group {}", event.getServerGroup());
     }
 
     @Override
     public void onHostSelection(HostSelectionEvent event) {
         context.put(SELECTED_HOST, event.getHost());
+        generation = StatementContext.nextGeneration();
         logger.info("Selected host {}", event.getHost());
     }
 
@@ -108,9 +116,22 @@ public class CoreStatementContext implements StatementContext,
     public void onServerSelection(ServerSelectionEvent event) {
         context.put(SELECTED_SERVER_CONFIG, event.getServer());
         context.put(SELECTED_SERVER, event.getServer());
+        generation = StatementContext.nextGeneration();
         logger.info("Selected server {}", event.getServer());
     }
 
+    @Override
+    public long generation() {
+        // the environment is updated during bootstrap and after the domain controller has changed
+        if (standalone != environment.isStandalone()
+                || !Objects.equals(domainController, environment.getDomainController())) {
+            standalone = environment.isStandalone();
+            domainController = environment.getDomainController();
+            generation = StatementContext.nextGeneration();
+        }
+        return generation;
+    }
+
     @Override
     public String domainController() {
         return environment.getDomainController();
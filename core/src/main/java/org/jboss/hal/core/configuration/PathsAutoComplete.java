@@ -103,7 +103,7 @@ public class PathsAutoComplete extends AutoComplete {
 
     public PathsAutoComplete() {
         Options options = new OptionsBuilder<JsonObject>(
-                (query, response) -> Core.INSTANCE.dispatcher().execute(operation,
+                (query, response) -> Core.INSTANCE.dispatcher().executeCoalesced(operation,
                         result -> response.response(new NamesResultProcessor().process(query, result))))
                 .renderItem(new StringRenderer<>(item -> item.get(NAME).asString()))
                 .build();
@@ -24,6 +24,7 @@ import javax.inject.Inject;
 import elemental2.dom.HTMLElement;
 import org.jboss.hal.ballroom.form.FormItemValidation;
 import org.jboss.hal.core.CrudOperations;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.security.Constraint;
 import org.jboss.hal.resources.CSS;
@@ -41,11 +42,13 @@ import static org.jboss.hal.resources.CSS.pfIcon;
 public class ColumnActionFactory {
 
     private final CrudOperations crud;
+    private final Dispatcher dispatcher;
     private final Resources resources;
 
     @Inject
-    public ColumnActionFactory(CrudOperations crud, Resources resources) {
+    public ColumnActionFactory(CrudOperations crud, Dispatcher dispatcher, Resources resources) {
         this.crud = crud;
+        this.dispatcher = dispatcher;
         this.resources = resources;
     }
 
@@ -141,7 +144,11 @@ public class ColumnActionFactory {
                 .data(UIConstants.PLACEMENT, "bottom").element();
         return new ColumnAction.Builder<T>(id)
                 .element(element)
-                .handler(handler)
+                .handler(column -> {
+                    // an explicit refresh must not show cached items
+                    dispatcher.responseCache().clear();
+                    handler.execute(column);
+                })
                 .build();
     }
 }
@@ -69,7 +69,7 @@ public class ColumnRegistry {
     void lookup(String id, LookupCallback callback) {
         Set<String> resources = requiredResources.getResources(id);
         if (resolvedColumns.containsKey(id)) {
-            if (resources.stream().anyMatch(r -> r.contains("{selected."))) {
+            if (dependsOnSelection(resources)) {
                 // resources dependent on selected.host/server are processed for the current selection only
                 // if the column is already resolved resources need to be processed for the new selection
                 logger.debug("Column '{}' has the following required resources attached to it: {}", id, resources);
@@ -89,6 +89,15 @@ public class ColumnRegistry {
         }
     }
 
+    /** Whether the required resources of the column depend on the selection ({@code {selected.host}} etc.). */
+    boolean dependsOnSelection(String id) {
+        return dependsOnSelection(requiredResources.getResources(id));
+    }
+
+    private boolean dependsOnSelection(Set<String> resources) {
+        return resources.stream().anyMatch(r -> r.contains("{selected."));
+    }
+
     @SuppressWarnings("unchecked")
     private void lookupInternal(String id, LookupCallback callback) {
         if (columns.containsKey(id)) {
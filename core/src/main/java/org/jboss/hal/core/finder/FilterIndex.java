@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lower-cased index of the filter data of the items in a finder column. The filter data is lower-cased once when the
+ * items are added, not on every keystroke.
+ * <p>
+ * If a query contains the previous query (the usual case when typing), only the matches of the previous query are
+ * checked again. Items without filter data always match.
+ * <p>
+ * By default an item matches if its filter data contains the query. In fuzzy mode an item matches if its filter data
+ * contains all characters of the query in the same order (whitespace in the query is ignored).
+ */
+class FilterIndex {
+
+    private final boolean fuzzy;
+    private final Map<String, String> entries;
+    private String lastQuery;
+    private Set<String> lastMatches;
+
+    FilterIndex(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    void add(String id, String filterData) {
+        entries.put(id, filterData != null ? filterData.toLowerCase() : null);
+        reset();
+    }
+
+    void clear() {
+        entries.clear();
+        reset();
+    }
+
+    private void reset() {
+        lastQuery = null;
+        lastMatches = null;
+    }
+
+    /** Returns the ids of the matching items in the order they were added. Returns all ids for an empty query. */
+    Set<String> match(String filter) {
+        if (filter == null || filter.trim().length() == 0) {
+            return new LinkedHashSet<>(entries.keySet());
+        }
+
+        String query = filter.toLowerCase();
+        Iterable<String> candidates = lastQuery != null && query.contains(lastQuery)
+                ? lastMatches
+                : entries.keySet();
+        Set<String> matches = new LinkedHashSet<>();
+        for (String id : candidates) {
+            String data = entries.get(id);
+            if (data == null || (fuzzy ? fuzzyMatch(data, query) : data.contains(query))) {
+                matches.add(id);
+            }
+        }
+        lastQuery = query;
+        lastMatches = matches;
+        return matches;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static boolean fuzzyMatch(String data, String query) {
+        int index = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            index = data.indexOf(c, index);
+            if (index == -1) {
+                return false;
+            }
+            index++;
+        }
+        return true;
+    }
+}
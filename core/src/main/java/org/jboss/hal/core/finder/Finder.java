@@ -19,9 +19,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -43,6 +45,7 @@ import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Outcome;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.flow.Task;
+import org.jboss.hal.meta.processing.MetadataPrefetcher;
 import org.jboss.hal.meta.security.SecurityContextRegistry;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.spi.Footer;
@@ -56,6 +59,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
 import static org.jboss.gwt.elemento.core.Elements.div;
 import static org.jboss.hal.ballroom.Skeleton.applicationOffset;
+import static org.jboss.hal.flow.Flow.inParallel;
 import static org.jboss.hal.flow.Flow.series;
 import static org.jboss.hal.resources.CSS.*;
 import static org.jboss.hal.resources.Ids.FINDER;
@@ -84,6 +88,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
     private final PlaceManager placeManager;
     private final ColumnRegistry columnRegistry;
     private final SecurityContextRegistry securityContextRegistry;
+    private final MetadataPrefetcher metadataPrefetcher;
     private final Provider<Progress> progress;
     private final FinderContext context;
     private final LinkedHashMap<String, FinderColumn> columns;
@@ -102,6 +107,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
             PlaceManager placeManager,
             ColumnRegistry columnRegistry,
             SecurityContextRegistry securityContextRegistry,
+            MetadataPrefetcher metadataPrefetcher,
             @Footer Provider<Progress> progress) {
 
         this.environment = environment;
@@ -109,6 +115,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         this.placeManager = placeManager;
         this.columnRegistry = columnRegistry;
         this.securityContextRegistry = securityContextRegistry;
+        this.metadataPrefetcher = metadataPrefetcher;
         this.progress = progress;
 
         this.context = new FinderContext();
@@ -274,6 +281,16 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
             context.getPath().append(column);
         }
         eventBus.fireEvent(new FinderContextEvent(context));
+        prefetch();
+    }
+
+    /** Prefetches the metadata of the columns and places reachable from the last column. */
+    private void prefetch() {
+        if (!columns.isEmpty()) {
+            Set<String> targets = new LinkedHashSet<>();
+            Iterables.getLast(columns.values()).collectTargets(targets);
+            metadataPrefetcher.prefetch(targets);
+        }
     }
 
     void updateHistory() {
@@ -395,14 +412,16 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
      * Refreshes the specified path.
      * <p>
      * Please note that this might be a complex and long running operation since each segment in the path is turned into
-     * a function which reloads and re-selects the items.
+     * a function which reloads and re-selects the items. Missing columns are resolved in parallel before.
      */
     public void refresh(FinderPath path) {
         if (!path.isEmpty()) {
 
-            List<RefreshTask> tasks = stream(path.spliterator(), false)
+            List<Task<FlowContext>> tasks = new ArrayList<>();
+            tasks.add(resolveColumns(path));
+            stream(path.spliterator(), false)
                     .map(segment -> new RefreshTask(new FinderSegment(segment.getColumnId(), segment.getItemId())))
-                    .collect(toList());
+                    .forEach(tasks::add);
             series(new FlowContext(progress.get()), tasks)
                     .subscribe(new Outcome<FlowContext>() {
                         @Override
@@ -429,6 +448,9 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
      * <p>
      * Please note that this might be a complex and long running operation since each segment in the path is turned into
      * a function. The function will load and initialize the column and select the item as specified in the segment.
+     * To save round-trips, the columns of the path are resolved in parallel before (see {@link
+     * #resolveColumns(FinderPath)}). The items are still loaded in order, since items providers depend on the selection
+     * in the previous columns.
      * <p>
      * If the path is empty, the fallback operation is executed.
      */
@@ -467,9 +489,11 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
                 }
             }
 
-            List<SelectTask> tasks = stream(path.spliterator(), false)
+            List<Task<FlowContext>> tasks = new ArrayList<>();
+            tasks.add(resolveColumns(path));
+            stream(path.spliterator(), false)
                     .map(segment -> new SelectTask(new FinderSegment(segment.getColumnId(), segment.getItemId())))
-                    .collect(toList());
+                    .forEach(tasks::add);
             series(new FlowContext(progress.get()), tasks)
                     .subscribe(new Outcome<FlowContext>() {
                         @Override
@@ -499,6 +523,24 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         }
     }
 
+    /**
+     * Returns a task which resolves the columns of the path in parallel. This processes the required resources of the
+     * columns and loads columns behind split points in one go, so that the select and refresh tasks find the columns
+     * already resolved.
+     * <p>
+     * Columns which are already part of the finder and columns whose required resources depend on the selection are
+     * skipped. The latter are resolved when their turn comes, that is after the previous column has been selected.
+     */
+    private Task<FlowContext> resolveColumns(FinderPath path) {
+        List<ResolveTask> tasks = stream(path.spliterator(), false)
+                .map(segment -> segment.getColumnId())
+                .filter(columnId -> !columns.containsKey(columnId) && !columnRegistry.dependsOnSelection(columnId))
+                .distinct()
+                .map(ResolveTask::new)
+                .collect(toList());
+        return inParallel(MAX_COLUMNS, tasks);
+    }
+
     public FinderColumn getColumn(String columnId) {
         return columns.get(columnId);
     }
@@ -508,6 +550,33 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
     }
 
 
+    private class ResolveTask implements Task<FlowContext> {
+
+        private final String columnId;
+
+        private ResolveTask(String columnId) {
+            this.columnId = columnId;
+        }
+
+        @Override
+        public Completable call(FlowContext context) {
+            return Completable.fromEmitter(emitter -> columnRegistry.lookup(columnId, new LookupCallback() {
+                @Override
+                public void found(FinderColumn column) {
+                    emitter.onCompleted();
+                }
+
+                @Override
+                public void error(String failure) {
+                    // errors are reported by the select and refresh tasks which lookup the column again
+                    logger.debug("Unable to resolve column '{}' in advance: {}", columnId, failure);
+                    emitter.onCompleted();
+                }
+            }));
+        }
+    }
+
+
     private class SelectTask implements Task<FlowContext> {
 
         private final FinderSegment segment;
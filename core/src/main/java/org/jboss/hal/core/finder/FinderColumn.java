@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,6 +28,7 @@ import java.util.function.Predicate;
 
 import com.google.common.collect.Iterables;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 import elemental2.dom.DragEvent;
@@ -66,11 +68,11 @@ import static org.jboss.gwt.elemento.core.EventType.bind;
 import static org.jboss.gwt.elemento.core.EventType.click;
 import static org.jboss.gwt.elemento.core.EventType.keydown;
 import static org.jboss.gwt.elemento.core.EventType.keyup;
+import static org.jboss.gwt.elemento.core.EventType.scroll;
 import static org.jboss.gwt.elemento.core.InputType.text;
 import static org.jboss.gwt.elemento.core.Key.ArrowUp;
 import static org.jboss.gwt.elemento.core.Key.Escape;
 import static org.jboss.hal.core.finder.Finder.DATA_BREADCRUMB;
-import static org.jboss.hal.core.finder.Finder.DATA_FILTER;
 import static org.jboss.hal.resources.CSS.*;
 import static org.jboss.hal.resources.Names.NOT_AVAILABLE;
 import static org.jboss.hal.resources.UIConstants.GROUP;
@@ -89,6 +91,11 @@ import static org.jboss.hal.resources.UIConstants.TABINDEX;
  * Please do not use constants from {@code ModelDescriptionConstants} for the column ids (it makes refactoring harder).
  * Instead add an id to {@link org.jboss.hal.resources.Ids}.
  * <p>
+ * Rows are materialized lazily: {@link #setItems(AsyncCallback)} only creates the rows of the first chunk. The
+ * remaining rows are created in chunks per animation frame as long as they're in or near the viewport and on demand
+ * when a row is selected or navigated to. This keeps columns with thousands of items responsive. The filter works on a
+ * {@link FilterIndex} of all items, no matter if their rows are materialized or not.
+ * <p>
  * TODO This class is huge! Try to refactor and break into smaller pieces.
  *
  * @param <T> The column and items type.
@@ -96,6 +103,15 @@ import static org.jboss.hal.resources.UIConstants.TABINDEX;
 public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
     private static final String DOT = ".";
+
+    /** Number of rows which are materialized at once. */
+    private static final int CHUNK_SIZE = 50;
+
+    /** Delay in ms after the last keystroke before the filter is applied. */
+    private static final int FILTER_DELAY = 150;
+
+    /** Number of rows which are materialized regardless of the viewport, e.g. while the column is not yet visible. */
+    private static final int WINDOW_SIZE = 2 * CHUNK_SIZE;
     private static final Constants CONSTANTS = GWT.create(Constants.class);
     private static final Logger logger = LoggerFactory.getLogger(FinderColumn.class);
 
@@ -110,15 +126,21 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     private final HTMLElement headerElement;
     private final HTMLInputElement filterElement;
     private final HTMLElement clearFilterElement;
+    private final Timer filterTimer;
+    private final FilterIndex filterIndex;
     private final HTMLElement ulElement;
     private final HTMLElement noItems;
     private final List<T> initialItems;
     private final ItemSelectionHandler<T> selectionHandler;
     private final List<HandlerRegistration> handlers;
     private final Map<String, FinderRow<T>> rows;
+    private final LinkedList<PendingRow<T>> pendingRows;
+    private final Set<String> pendingIds;
     private final FinderColumnStorage storage;
 
     private boolean asElement;
+    private boolean chunkScheduled;
+    private Set<String> matches;
     private final boolean firstActionAsBreadcrumbHandler;
     private ItemsProvider<T> itemsProvider;
     private List<T> currentItems;
@@ -148,6 +170,9 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         this.asElement = false;
 
         this.rows = new HashMap<>();
+        this.pendingRows = new LinkedList<>();
+        this.pendingIds = new HashSet<>();
+        this.filterIndex = new FilterIndex(builder.fuzzyFilter);
         this.storage = new FinderColumnStorage(id);
         this.handlers = new ArrayList<>();
 
@@ -200,9 +225,16 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                             .element());
             clearFilterElement = clearFilter.element();
             Elements.setVisible(clearFilterElement, false);
+            filterTimer = new Timer() {
+                @Override
+                public void run() {
+                    applyFilter();
+                }
+            };
         } else {
             filterElement = null;
             clearFilterElement = null;
+            filterTimer = null;
         }
 
         // rows
@@ -287,10 +319,11 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     private void updateHeader(int matched) {
         if (showCount) {
             String titleWithSize;
-            if (matched == rows.size()) {
-                titleWithSize = title + " (" + rows.size() + ")";
+            int size = rows.size() + pendingRows.size();
+            if (matched == size) {
+                titleWithSize = title + " (" + size + ")";
             } else {
-                titleWithSize = title + " (" + matched + " / " + rows.size() + ")";
+                titleWithSize = title + " (" + matched + " / " + size + ")";
             }
             headerElement.textContent = titleWithSize;
             headerElement.title = titleWithSize;
@@ -301,6 +334,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     public void attach() {
         handlers.add(bind(root, keydown, this::onNavigation));
         handlers.add(bind(hiddenColumns, click, event -> finder.revealHiddenColumns(FinderColumn.this)));
+        handlers.add(bind(ulElement, scroll, event -> onScroll()));
         if (filterElement != null) {
             handlers.add(bind(filterElement, keydown, this::onNavigation));
             handlers.add(bind(filterElement, keyup, this::onFilter));
@@ -323,27 +357,25 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             filterElement.value = "";
             // hide the 'clear' icon when there are no chars
             Elements.setVisible(clearFilterElement, false);
+            filterTimer.cancel();
+            applyFilter();
         } else {
             // show the 'clear' icon when there are typed chars
             Elements.setVisible(clearFilterElement, true);
+            filterTimer.schedule(FILTER_DELAY);
         }
+    }
 
-        int matched = 0;
+    /** Matches the filter against the filter index and updates the visibility of the rows in one pass. */
+    private void applyFilter() {
         String filter = filterElement.value;
-        for (HTMLElement li : Elements.children(ulElement)) {
-            if (li == noItems) {
-                continue;
-            }
-            Object filterData = li.dataset.get(DATA_FILTER);
-            boolean match = filter == null
-                    || filter.trim().length() == 0
-                    || filterData == null
-                    || String.valueOf(filterData).toLowerCase().contains(filter.toLowerCase());
-            Elements.setVisible(li, match);
-            if (match) {
-                matched++;
-            }
+        boolean active = filter != null && filter.trim().length() != 0;
+        matches = active ? filterIndex.match(filter) : null;
+        for (FinderRow<T> row : rows.values()) {
+            Elements.setVisible(row.element(), matches == null || matches.contains(row.getId()));
         }
+
+        int matched = matches != null ? matches.size() : filterIndex.size();
         updateHeader(matched);
         if (matched == 0) {
             Elements.lazyAppend(ulElement, noItems);
@@ -351,21 +383,23 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             Elements.failSafeRemove(ulElement, noItems);
         }
         // when user deletes remaining chars, hide the 'clear' icon
-        if (filter != null && filter.trim().length() == 0) {
+        if (!active) {
             Elements.setVisible(clearFilterElement, false);
         }
+        // matching rows might still be pending
+        scheduleChunk();
+    }
+
+    private void onScroll() {
+        if (nearEnd()) {
+            scheduleChunk();
+        }
     }
 
     private void clearFilter() {
         filterElement.value = "";
-        for (HTMLElement li : Elements.children(ulElement)) {
-            if (li == noItems) {
-                continue;
-            }
-            Elements.setVisible(li, true);
-        }
-        Elements.failSafeRemove(ulElement, noItems);
-        Elements.setVisible(clearFilterElement, false);
+        filterTimer.cancel();
+        applyFilter();
     }
 
     private void onNavigation(KeyboardEvent event) {
@@ -488,10 +522,14 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 return true;
             }
         }
-        return false;
+        return !pendingRows.isEmpty();
     }
 
     private HTMLElement previousVisibleElement(HTMLElement start) {
+        if (start == null) {
+            // the last row is requested
+            materializeAll();
+        }
         HTMLElement element = (HTMLElement) (start == null ? ulElement.lastElementChild : start.previousElementSibling);
         while (element != null && !Elements.isVisible(element)) {
             element = (HTMLElement) element.previousElementSibling;
@@ -504,10 +542,16 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         while (element != null && !Elements.isVisible(element)) {
             element = (HTMLElement) element.nextElementSibling;
         }
+        if (element == null && !pendingRows.isEmpty()) {
+            HTMLElement lastElement = (HTMLElement) ulElement.lastElementChild;
+            materialize(CHUNK_SIZE);
+            return nextVisibleElement(lastElement);
+        }
         return element;
     }
 
     FinderRow<T> row(String itemId) {
+        materialize(itemId);
         return rows.get(itemId);
     }
 
@@ -526,11 +570,35 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         return null;
     }
 
+    /**
+     * Adds the targets of the selected row followed by the targets of all other rows in display order. For rows which
+     * are not yet materialized only the next column is added.
+     */
+    void collectTargets(Set<String> targets) {
+        FinderRow<T> selectedRow = selectedRow();
+        if (selectedRow != null) {
+            selectedRow.collectTargets(targets);
+        }
+        for (HTMLElement element : Elements.children(ulElement)) {
+            FinderRow<T> row = row(element);
+            if (row != null) {
+                row.collectTargets(targets);
+            }
+        }
+        for (PendingRow<T> pendingRow : pendingRows) {
+            String nextColumn = pendingRow.display.nextColumn();
+            if (nextColumn != null) {
+                targets.add(nextColumn);
+            }
+        }
+    }
+
     boolean contains(String itemId) {
-        return rows.containsKey(itemId);
+        return rows.containsKey(itemId) || pendingIds.contains(itemId);
     }
 
     void markSelected(String itemId) {
+        materialize(itemId);
         for (Map.Entry<String, FinderRow<T>> entry : rows.entrySet()) {
             boolean select = itemId.equals(entry.getKey());
             entry.getValue().markSelected(select);
@@ -552,6 +620,8 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     void unpin(FinderRow<T> row) {
+        // the position of the row might be behind the materialized rows
+        materializeAll();
         row.element().classList.remove(pinned);
         row.element().classList.add(unpinned);
 
@@ -650,10 +720,15 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
     private void setItems(List<T> items, AsyncCallback<FinderColumn> callback) {
         rows.clear();
+        pendingRows.clear();
+        pendingIds.clear();
+        filterIndex.clear();
+        matches = null;
         currentItems = items;
         Elements.removeChildrenFrom(ulElement);
         if (filterElement != null) {
             filterElement.value = "";
+            filterTimer.cancel();
         }
 
         List<T> pinnedItems = new ArrayList<>();
@@ -673,32 +748,100 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         }
         for (Iterator<T> iterator = pinnedItems.iterator(); iterator.hasNext(); ) {
             T item = iterator.next();
-            FinderRow<T> row = new FinderRow<>(finder, this, item, true,
-                    itemRenderer.render(item), previewCallback);
-            rows.put(row.getId(), row);
-            ulElement.appendChild(row.element());
-            if (!iterator.hasNext()) {
-                row.element().classList.add(last);
-            }
+            enqueue(item, true, !iterator.hasNext());
         }
         for (T item : unpinnedItems) {
-            FinderRow<T> row = new FinderRow<>(finder, this, item, false,
-                    itemRenderer.render(item), previewCallback);
-            rows.put(row.getId(), row);
-            ulElement.appendChild(row.element());
+            enqueue(item, false, false);
         }
+        materialize(CHUNK_SIZE);
         updateHeader(items.size());
-        Tooltip.select(HASH + id + " [data-" + UIConstants.TOGGLE + "=" + UIConstants.TOOLTIP + "]").init(); //NON-NLS
 
         if (items.isEmpty()) {
             ulElement.appendChild(noItems);
         }
+        scheduleChunk();
 
         if (callback != null) {
             callback.onSuccess(this);
         }
     }
 
+    private void enqueue(T item, boolean pinned, boolean lastPinned) {
+        PendingRow<T> pendingRow = new PendingRow<>(item, itemRenderer.render(item), pinned, lastPinned);
+        pendingRows.add(pendingRow);
+        pendingIds.add(pendingRow.id);
+        filterIndex.add(pendingRow.id, pendingRow.display.getFilterData());
+    }
+
+    /** Creates and appends the rows of the next {@code count} pending items. */
+    private void materialize(int count) {
+        int materialized = 0;
+        while (materialized < count && !pendingRows.isEmpty()) {
+            PendingRow<T> pendingRow = pendingRows.poll();
+            pendingIds.remove(pendingRow.id);
+            FinderRow<T> row = new FinderRow<>(finder, this, pendingRow.item, pendingRow.pinned,
+                    pendingRow.display, previewCallback);
+            rows.put(row.getId(), row);
+            if (pendingRow.lastPinned) {
+                row.element().classList.add(last);
+            }
+            if (matches != null) {
+                Elements.setVisible(row.element(), matches.contains(row.getId()));
+            }
+            ulElement.appendChild(row.element());
+            materialized++;
+        }
+        if (materialized > 0) {
+            Tooltip.select(HASH + id + " [data-" + UIConstants.TOGGLE + "=" + UIConstants.TOOLTIP + "]") //NON-NLS
+                    .init();
+        }
+    }
+
+    /** Materializes the pending rows up to and including the specified item. */
+    private void materialize(String itemId) {
+        while (pendingIds.contains(itemId)) {
+            materialize(CHUNK_SIZE);
+        }
+    }
+
+    private void materializeAll() {
+        materialize(pendingRows.size());
+    }
+
+    /**
+     * Materializes the next chunk in the next animation frame as long as the column holds less than {@link
+     * #WINDOW_SIZE} rows or the materialized rows end near the viewport. Further chunks are scheduled by scrolling.
+     */
+    private void scheduleChunk() {
+        if (!chunkScheduled && !pendingRows.isEmpty()) {
+            chunkScheduled = true;
+            onAnimationFrame(() -> {
+                chunkScheduled = false;
+                if (rows.size() < WINDOW_SIZE || nearEnd()) {
+                    materialize(CHUNK_SIZE);
+                    scheduleChunk();
+                }
+            });
+        }
+    }
+
+    /** Whether the materialized rows end less than one viewport height below the visible area. */
+    private boolean nearEnd() {
+        double height = ulElement.clientHeight;
+        return height > 0 && ulElement.scrollHeight - ulElement.scrollTop - height < height;
+    }
+
+    private static native void onAnimationFrame(Runnable callback) /*-{
+        var run = $entry(function () {
+            callback.@java.lang.Runnable::run()();
+        });
+        if (typeof $wnd.requestAnimationFrame === "function") {
+            $wnd.requestAnimationFrame(run);
+        } else {
+            $wnd.setTimeout(run, 16);
+        }
+    }-*/;
+
     /**
      * Sometimes you need to reference {@code this} in the column action handler. This is not possible if they're part
      * of the builder which is passed to {@code super()}. In this case you can use this method to add your column
@@ -866,7 +1009,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 FinderRow<T> oldRow = selectedRow();
                 refresh(() -> {
                     if (oldRow != null) {
-                        FinderRow<T> updatedRow = rows.get(oldRow.getId());
+                        FinderRow<T> updatedRow = row(oldRow.getId());
                         if (updatedRow != null) {
                             updatedRow.click();
                             updatedRow.element().scrollIntoView(false);
@@ -888,7 +1031,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
      */
     public void refresh(String selectItemId) {
         refresh(() -> {
-            FinderRow<T> row = rows.get(selectItemId);
+            FinderRow<T> row = row(selectItemId);
             if (row != null) {
                 row.click();
             } else {
@@ -973,6 +1116,25 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
 
+    /** An item whose row has not been materialized yet. */
+    private static class PendingRow<T> {
+
+        private final T item;
+        private final ItemDisplay<T> display;
+        private final String id;
+        private final boolean pinned;
+        private final boolean lastPinned;
+
+        private PendingRow(T item, ItemDisplay<T> display, boolean pinned, boolean lastPinned) {
+            this.item = item;
+            this.display = display;
+            this.id = Strings.sanitize(display.getId());
+            this.pinned = pinned;
+            this.lastPinned = lastPinned;
+        }
+    }
+
+
     public static class Builder<T> {
 
         private final Finder finder;
@@ -982,6 +1144,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         private ItemRenderer<T> itemRenderer;
         private boolean showCount;
         private boolean withFilter;
+        private boolean fuzzyFilter;
         private boolean pinnable;
         private PreviewCallback<T> previewCallback;
         private BreadcrumbItemHandler<T> breadcrumbItemHandler;
@@ -1000,6 +1163,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             this.columnActions = new ArrayList<>();
             this.showCount = false;
             this.withFilter = false;
+            this.fuzzyFilter = false;
             this.pinnable = false;
             this.items = new ArrayList<>();
             this.filterDescription = CONSTANTS.filter();
@@ -1027,6 +1191,16 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             return this;
         }
 
+        /**
+         * Adds a filter which matches items whose filter data contains all typed characters in the same order, e.g.
+         * {@code dplwar} matches {@code deployment.war}.
+         */
+        public Builder<T> withFuzzyFilter() {
+            this.withFilter = true;
+            this.fuzzyFilter = true;
+            return this;
+        }
+
         public Builder<T> filterDescription(String filterTooltip) {
             this.filterDescription = filterTooltip;
             return this;
@@ -16,6 +16,7 @@
 package org.jboss.hal.core.finder;
 
 import java.util.List;
+import java.util.Set;
 
 import com.google.gwt.core.client.GWT;
 import elemental2.dom.HTMLAnchorElement;
@@ -301,6 +302,18 @@ class FinderRow<T> implements IsElement<HTMLLIElement> {
         return nextColumn;
     }
 
+    /** Adds the next column and the name tokens of the actions of this row to the specified set. */
+    void collectTargets(Set<String> targets) {
+        if (nextColumn != null) {
+            targets.add(nextColumn);
+        }
+        for (ItemAction<T> action : actions) {
+            if (action.nameToken != null) {
+                targets.add(action.nameToken);
+            }
+        }
+    }
+
     ItemActionHandler<T> getPrimaryAction() {
         return primaryAction;
     }
@@ -77,6 +77,7 @@ public class ItemActionFactory {
     public <T> ItemAction<T> placeRequest(String title, PlaceRequest placeRequest, Constraint constraint) {
         ItemAction.Builder<T> builder = new ItemAction.Builder<T>()
                 .title(title)
+                .nameToken(placeRequest.getNameToken())
                 .handler(item -> placeManager.revealPlace(placeRequest));
         if (constraint != null) {
             builder.constraint(constraint);
@@ -86,6 +87,7 @@ public class ItemActionFactory {
 
     public <T> ItemAction<T> viewAndMonitor(String itemId, PlaceRequest placeRequest) {
         return new ItemAction.Builder<T>().title(resources.constants().view())
+                .nameToken(placeRequest.getNameToken())
                 .handler(itemMonitor.monitorPlaceRequest(itemId, placeRequest.getNameToken(),
                         () -> placeManager.revealPlace(placeRequest)))
                 .build();
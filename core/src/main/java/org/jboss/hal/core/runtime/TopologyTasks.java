@@ -58,6 +58,8 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.dmr.ModelNodeHelper.failSafeList;
+import static org.jboss.hal.flow.Flow.inParallel;
+import static org.jboss.hal.flow.Flow.inSeries;
 
 public final class TopologyTasks {
 
@@ -102,10 +104,12 @@ public final class TopologyTasks {
      */
     public static List<Task<FlowContext>> topology(Environment environment, Dispatcher dispatcher) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
-        tasks.add(new HostsNames(environment, dispatcher));
-        tasks.add(new Hosts(environment, dispatcher));
-        tasks.add(new DisconnectedHosts(environment, dispatcher));
-        tasks.add(new ServerGroups(environment, dispatcher));
+        // the server groups don't depend on the hosts
+        tasks.add(inParallel(
+                inSeries(new HostsNames(environment, dispatcher),
+                        new Hosts(environment, dispatcher),
+                        new DisconnectedHosts(environment, dispatcher)),
+                new ServerGroups(environment, dispatcher)));
         tasks.add(new StartedServers(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
@@ -142,9 +146,9 @@ public final class TopologyTasks {
      */
     public static List<Task<FlowContext>> serverGroups(Environment environment, Dispatcher dispatcher) {
         List<Task<FlowContext>> tasks = new ArrayList<>();
-        tasks.add(new HostsNames(environment, dispatcher));
-        tasks.add(new Hosts(environment, dispatcher));
-        tasks.add(new ServerGroups(environment, dispatcher));
+        tasks.add(inParallel(
+                inSeries(new HostsNames(environment, dispatcher), new Hosts(environment, dispatcher)),
+                new ServerGroups(environment, dispatcher)));
         tasks.add(new StartedServers(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
@@ -322,7 +326,7 @@ public final class TopologyTasks {
                 Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
                         .param(CHILD_TYPE, ModelDescriptionConstants.HOST)
                         .build();
-                completable = dispatcher.execute(operation)
+                completable = dispatcher.executeCoalesced(operation)
                         .doOnSuccess(result -> hostNames.addAll(result.asList().stream()
                                 .map(ModelNode::asString)
                                 .collect(toList())))
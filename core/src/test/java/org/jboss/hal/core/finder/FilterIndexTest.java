@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class FilterIndexTest {
+
+    @Test
+    public void empty() {
+        FilterIndex index = index(false);
+        assertEquals(asList("a", "b", "c", "d"), list(index.match(null)));
+        assertEquals(asList("a", "b", "c", "d"), list(index.match("  ")));
+    }
+
+    @Test
+    public void contains() {
+        FilterIndex index = index(false);
+        assertEquals(asList("a", "b", "d"), list(index.match("Deploy")));
+        assertEquals(asList("a", "d"), list(index.match("ment.war")));
+        assertEquals(asList("b", "d"), list(index.match("queue")));
+    }
+
+    @Test
+    public void narrowing() {
+        FilterIndex index = index(false);
+        assertEquals(asList("a", "b", "d"), list(index.match("de")));
+        assertEquals(asList("a", "b", "d"), list(index.match("dep")));
+        assertEquals(asList("a", "d"), list(index.match("deployment.")));
+        // widening again must not be limited to the previous matches
+        assertEquals(asList("a", "b", "d"), list(index.match("de")));
+    }
+
+    @Test
+    public void fuzzy() {
+        FilterIndex index = index(true);
+        assertEquals(asList("a", "d"), list(index.match("dplwar")));
+        assertEquals(asList("b", "d"), list(index.match("dep q")));
+        assertEquals(asList("c", "d"), list(index.match("xa")));
+    }
+
+    @Test
+    public void clear() {
+        FilterIndex index = index(false);
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(emptySet(), index.match("foo"));
+    }
+
+    private FilterIndex index(boolean fuzzy) {
+        FilterIndex index = new FilterIndex(fuzzy);
+        index.add("a", "deployment.war");
+        index.add("b", "DeployQueue");
+        index.add("c", "ExampleDS");
+        index.add("d", null);
+        return index;
+    }
+
+    private List<String> list(Set<String> ids) {
+        return new ArrayList<>(ids);
+    }
+}
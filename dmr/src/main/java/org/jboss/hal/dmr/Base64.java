@@ -15,6 +15,8 @@
  */
 package org.jboss.hal.dmr;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.core.DataView;
 import jsinterop.annotations.JsMethod;
 
 import static jsinterop.annotations.JsPackage.GLOBAL;
@@ -22,12 +24,53 @@ import static jsinterop.annotations.JsPackage.GLOBAL;
 /** Encodes and decodes to and from Base64 notation. */
 public class Base64 {
 
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+    private static final int[] DECODE_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < DECODE_TABLE.length; i++) {
+            DECODE_TABLE[i] = -1;
+        }
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            DECODE_TABLE[ALPHABET.charAt(i)] = i;
+        }
+    }
+
     @JsMethod(namespace = GLOBAL, name = "btoa")
     public static native String encode(String decoded);
 
     @JsMethod(namespace = GLOBAL, name = "atob")
     public static native String decode(String encoded);
 
+    /**
+     * Decodes the base64 encoded bytes in the specified buffer. Characters outside the base64 alphabet like line
+     * breaks and padding are skipped.
+     *
+     * @return a view on the decoded bytes
+     */
+    public static DataView decodeBuffer(ArrayBuffer encoded) {
+        return decodeBuffer(encoded, DECODE_TABLE);
+    }
+
+    private static native DataView decodeBuffer(ArrayBuffer encoded, int[] table) /*-{
+        var input = new $wnd.Uint8Array(encoded);
+        var output = new $wnd.Uint8Array(Math.floor(input.length * 3 / 4) + 3);
+        var bits = 0, buffer = 0, j = 0;
+        for (var i = 0; i < input.length; i++) {
+            var value = table[input[i]];
+            if (value < 0) {
+                continue;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                output[j++] = (buffer >> bits) & 0xff;
+            }
+        }
+        return new $wnd.DataView(output.buffer, 0, j);
+    }-*/;
+
     /** Defeats instantiation. */
     private Base64() {
     }
@@ -15,27 +15,165 @@
  */
 package org.jboss.hal.dmr;
 
+import java.util.Arrays;
+
 import elemental2.core.ArrayBuffer;
 import elemental2.core.DataView;
-import elemental2.core.Int8Array;
+import jsinterop.annotations.JsType;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
 
+/**
+ * Reads the binary DMR format from a {@link DataView}. Primitives are read directly from the view w/o any temporary
+ * allocations. Longer strings are decoded using {@code TextDecoder} if available.
+ * <p>
+ * Inputs created from a byte array don't touch any browser APIs and can be used in unit tests running in the JVM.
+ * <p>
+ * In lazy mode objects and lists only remember their position in the view and decode their children on first
+ * access. The end positions of all objects and lists are recorded when the outermost one is skipped. Nested objects
+ * and lists then skip their children in constant time when their parents are decoded.
+ */
 class DataInput {
 
-    private final byte[] bytes;
+    /** Strings with at least this number of bytes are decoded using {@code TextDecoder}. */
+    private static final int TEXT_DECODER_THRESHOLD = 16;
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+    private static TextDecoder textDecoder;
+    private static boolean textDecoderChecked = false;
+
+    private final DataView view; // null if backed by a byte array
+    private final byte[] array; // null if backed by a data view
+    private final int limit;
+    private final boolean lazy;
+    private final Containers containers; // lazy mode only, shared between forks
+    private int container = 0; // pre-order number of the next object or list
     private int pos = 0;
 
+    DataInput(ArrayBuffer buffer) {
+        this(new DataView(buffer));
+    }
+
+    DataInput(DataView view) {
+        this(view, false);
+    }
+
+    DataInput(DataView view, boolean lazy) {
+        this(view, null, (int) view.byteLength, lazy, lazy ? new Containers() : null);
+    }
+
     DataInput(byte[] bytes) {
-        this.bytes = bytes;
+        this(bytes, false);
+    }
+
+    DataInput(byte[] bytes, boolean lazy) {
+        this(null, bytes, bytes.length, lazy, lazy ? new Containers() : null);
+    }
+
+    private DataInput(DataView view, byte[] array, int limit, boolean lazy, Containers containers) {
+        this.view = view;
+        this.array = array;
+        this.limit = limit;
+        this.lazy = lazy;
+        this.containers = containers;
+    }
+
+
+    // ------------------------------------------------------ lazy mode
+
+    boolean isLazy() {
+        return lazy;
+    }
+
+    int position() {
+        return pos;
+    }
+
+    /** @return the pre-order number of the object or list which starts at the current position */
+    int container() {
+        return container;
+    }
+
+    /** Returns a new input on the same bytes starting at the specified position and container number. */
+    DataInput fork(int position, int container) {
+        DataInput input = new DataInput(view, array, limit, lazy, containers);
+        input.pos = position;
+        input.container = container;
+        return input;
+    }
+
+    /**
+     * Moves behind the children of the object or list whose children start at the current position. If the end
+     * position has been recorded before, this is a constant time operation. Otherwise the children are skipped and
+     * the end positions of all nested objects and lists are recorded.
+     */
+    void skipChildren(boolean object, int count) {
+        int number = container;
+        if (number < containers.size) {
+            pos = containers.ends[number];
+            container = containers.next[number];
+        } else {
+            containers.add();
+            container++;
+            for (int i = 0; i < count; i++) {
+                if (object) {
+                    skipUTF();
+                }
+                ModelNode.skipExternal(this);
+            }
+            containers.ends[number] = pos;
+            containers.next[number] = container;
+        }
+    }
+
+    void skip(int bytes) {
+        require(bytes);
+        pos += bytes;
+    }
+
+    void skipUTF() {
+        skip(readUnsignedShort());
+    }
+
+    /** Copies the raw bytes between {@code from} (inclusive) and {@code to} (exclusive) to the output. */
+    void copyTo(DataOutput out, int from, int to) {
+        if (view != null) {
+            out.write(view, from, to - from);
+        } else {
+            out.write(array, from, to - from);
+        }
     }
 
 
     // ------------------------------------------------------ read a-z
 
     private int read() {
-        if (pos >= bytes.length) {
+        if (pos >= limit) {
             return -1;
         }
-        return bytes[pos++] & 0xFF;
+        return view != null ? ((int) view.getUint8(pos++)) & 0xFF : array[pos++] & 0xFF;
+    }
+
+    /** Reads a big endian int at the specified position w/o moving the position. */
+    private int intAt(int position) {
+        if (view != null) {
+            return (int) view.getInt32(position);
+        }
+        return (array[position] & 0xFF) << 24 | (array[position + 1] & 0xFF) << 16
+                | (array[position + 2] & 0xFF) << 8 | array[position + 3] & 0xFF;
+    }
+
+    /** Reads a big endian unsigned short at the specified position w/o moving the position. */
+    private int unsignedShortAt(int position) {
+        if (view != null) {
+            return ((int) view.getUint16(position)) & 0xFFFF;
+        }
+        return (array[position] & 0xFF) << 8 | array[position + 1] & 0xFF;
+    }
+
+    private void require(int bytes) {
+        if (pos + bytes > limit) {
+            throw new RuntimeException("EOF");
+        }
     }
 
     boolean readBoolean() {
@@ -51,57 +189,54 @@ class DataInput {
     }
 
     char readChar() {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        return (char) ((a << 8) | b);
+        require(2);
+        char c = (char) unsignedShortAt(pos);
+        pos += 2;
+        return c;
     }
 
     double readDouble() {
-        byte[] doubleBytes = new byte[8];
-        readFully(doubleBytes);
-
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        for (int i = 0; i < doubleBytes.length; i++) {
-            array.setAt(i, (double) doubleBytes[i]);
+        if (view == null) {
+            return Double.longBitsToDouble(readLong());
         }
-        return view.getFloat64(0);
+        require(8);
+        double d = view.getFloat64(pos);
+        pos += 8;
+        return d;
     }
 
     void readFully(byte[] b) {
-        for (int i = 0; i < b.length; i++) {
-            b[i] = bytes[pos++];
+        require(b.length);
+        if (view != null) {
+            for (int i = 0; i < b.length; i++) {
+                b[i] = (byte) view.getInt8(pos++);
+            }
+        } else {
+            System.arraycopy(array, pos, b, 0, b.length);
+            pos += b.length;
         }
     }
 
     int readInt() {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        int c = readUnsignedByte();
-        int d = readUnsignedByte();
-        return (a << 24) | (b << 16) | (c << 8) | d;
+        require(4);
+        int i = intAt(pos);
+        pos += 4;
+        return i;
     }
 
     long readLong() {
-        byte[] longBytes = new byte[8];
-        readFully(longBytes);
-
-        return (((long) longBytes[0] << 56) +
-                ((long) (longBytes[1] & 255) << 48) +
-                ((long) (longBytes[2] & 255) << 40) +
-                ((long) (longBytes[3] & 255) << 32) +
-                ((long) (longBytes[4] & 255) << 24) +
-                ((longBytes[5] & 255) << 16) +
-                ((longBytes[6] & 255) << 8) +
-                ((longBytes[7] & 255) << 0));
-
+        require(8);
+        int high = intAt(pos);
+        int low = intAt(pos + 4);
+        pos += 8;
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
     }
 
     short readShort() {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        return (short) ((a << 8) | b);
+        require(2);
+        short s = (short) unsignedShortAt(pos);
+        pos += 2;
+        return s;
     }
 
     private int readUnsignedByte() {
@@ -113,19 +248,33 @@ class DataInput {
     }
 
     private int readUnsignedShort() {
-        int a = readUnsignedByte();
-        int b = readUnsignedByte();
-        return ((a << 8) | b);
+        require(2);
+        int s = unsignedShortAt(pos);
+        pos += 2;
+        return s;
     }
 
     String readUTF() {
         int bytes = readUnsignedShort();
-        StringBuilder sb = new StringBuilder();
+        require(bytes);
 
+        if (view != null && bytes >= TEXT_DECODER_THRESHOLD) {
+            TextDecoder decoder = textDecoder();
+            if (decoder != null) {
+                String decoded = decoder.decode(new DataView(view.buffer, (int) view.byteOffset + pos, bytes));
+                // Modified UTF-8 encodes U+0000 and supplementary characters differently than UTF-8.
+                // TextDecoder turns them into replacement characters: Use the slow path in that case.
+                if (decoded.indexOf(REPLACEMENT_CHAR) == -1) {
+                    pos += bytes;
+                    return decoded;
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(bytes);
         while (bytes > 0) {
             bytes -= readUTFChar(sb);
         }
-
         return sb.toString();
     }
 
@@ -168,4 +317,49 @@ class DataInput {
             return 1;
         }
     }
+
+
+    // ------------------------------------------------------ text decoder
+
+    private static TextDecoder textDecoder() {
+        if (!textDecoderChecked) {
+            textDecoderChecked = true;
+            if (hasTextDecoder()) {
+                textDecoder = new TextDecoder("utf-8");
+            }
+        }
+        return textDecoder;
+    }
+
+    private static native boolean hasTextDecoder() /*-{
+        return typeof $wnd.TextDecoder !== "undefined";
+    }-*/;
+
+
+    /** End positions of objects and lists in pre-order. */
+    private static class Containers {
+
+        private int[] ends = new int[16];
+        private int[] next = new int[16]; // the number of the container following the subtree
+        private int size = 0;
+
+        private void add() {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+                next = Arrays.copyOf(next, size * 2);
+            }
+            size++;
+        }
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL)
+    private static class TextDecoder {
+
+        @SuppressWarnings("unused")
+        TextDecoder(String label) {
+        }
+
+        native String decode(DataView view);
+    }
 }
@@ -15,110 +15,246 @@
  */
 package org.jboss.hal.dmr;
 
-import com.google.common.base.Charsets;
+import java.util.Arrays;
+
 import elemental2.core.ArrayBuffer;
 import elemental2.core.DataView;
-import elemental2.core.Int8Array;
-import elemental2.core.JsArray;
 
+/**
+ * Writes the binary DMR format into a growing {@link ArrayBuffer}. Primitives are written directly using a {@link
+ * DataView} w/o any temporary allocations.
+ * <p>
+ * Outputs created by {@link #byteArray()} write into a growing byte array instead. They don't touch any browser APIs
+ * and can be used in unit tests running in the JVM.
+ */
 class DataOutput {
 
-    private final JsArray<Byte> bytes;
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** Creates an output which writes into a byte array. */
+    static DataOutput byteArray() {
+        return new DataOutput(new byte[INITIAL_CAPACITY]);
+    }
+
+    private ArrayBuffer buffer;
+    private DataView view; // null if backed by a byte array
+    private byte[] array; // null if backed by an array buffer
+    private int capacity;
+    private int pos;
 
     DataOutput() {
-        bytes = new JsArray<>();
+        capacity = INITIAL_CAPACITY;
+        buffer = new ArrayBuffer(capacity);
+        view = new DataView(buffer);
+        pos = 0;
     }
 
+    private DataOutput(byte[] array) {
+        this.array = array;
+        this.capacity = array.length;
+        this.pos = 0;
+    }
+
+    /** @return the written bytes as ISO-8859-1 string which can be passed to {@code btoa}. */
     @Override
     public String toString() {
-        int length = bytes.getLength();
-        byte[] array = new byte[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = bytes.getAt(i);
+        if (view != null) {
+            return latin1(buffer, pos);
+        }
+        StringBuilder builder = new StringBuilder(pos);
+        for (int i = 0; i < pos; i++) {
+            builder.append((char) (array[i] & 0xFF));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Packs two bytes into one character. The first character holds the number of padding bytes (0 or 1) added to
+     * the last character.
+     */
+    String toBinaryString() {
+        StringBuilder builder = new StringBuilder(pos / 2 + 2);
+        builder.append((char) (pos % 2));
+        for (int i = 0; i < pos; i += 2) {
+            int high = at(i);
+            int low = i + 1 < pos ? at(i + 1) : 0;
+            builder.append((char) (high << 8 | low));
+        }
+        return builder.toString();
+    }
+
+    /** @return a copy of the written bytes */
+    byte[] toByteArray() {
+        if (view == null) {
+            return Arrays.copyOf(array, pos);
+        }
+        byte[] bytes = new byte[pos];
+        for (int i = 0; i < pos; i++) {
+            bytes[i] = (byte) at(i);
+        }
+        return bytes;
+    }
+
+    int size() {
+        return pos;
+    }
+
+    private int at(int position) {
+        return view != null ? ((int) view.getUint8(position)) & 0xFF : array[position] & 0xFF;
+    }
+
+    private void put(int position, int value) {
+        if (view != null) {
+            view.setUint8(position, value & 0xFF);
+        } else {
+            array[position] = (byte) value;
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pos + bytes > capacity) {
+            int newCapacity = Math.max(capacity * 2, pos + bytes);
+            if (view != null) {
+                ArrayBuffer newBuffer = new ArrayBuffer(newCapacity);
+                copy(buffer, newBuffer, pos);
+                buffer = newBuffer;
+                view = new DataView(buffer);
+            } else {
+                array = Arrays.copyOf(array, newCapacity);
+            }
+            capacity = newCapacity;
         }
-        return new String(array, Charsets.ISO_8859_1);
     }
 
+    private static native void copy(ArrayBuffer source, ArrayBuffer target, int length) /*-{
+        new $wnd.Uint8Array(target).set(new $wnd.Uint8Array(source, 0, length));
+    }-*/;
+
+    private static native void copy(DataView source, int offset, int length, ArrayBuffer target, int position) /*-{
+        new $wnd.Uint8Array(target).set(new $wnd.Uint8Array(source.buffer, source.byteOffset + offset, length),
+            position);
+    }-*/;
+
+    private static native String latin1(ArrayBuffer buffer, int length) /*-{
+        // String.fromCharCode.apply() has a limit for the number of arguments
+        var chunk = 8192;
+        var bytes = new $wnd.Uint8Array(buffer, 0, length);
+        var result = "";
+        for (var i = 0; i < length; i += chunk) {
+            result += String.fromCharCode.apply(null, bytes.subarray(i, Math.min(i + chunk, length)));
+        }
+        return result;
+    }-*/;
+
 
     // ------------------------------------------------------ write a-z
 
     void write(byte[] bits) {
-        for (int i = 0; i < bits.length; i++) {
-            bytes.push(bits[i]);
+        write(bits, 0, bits.length);
+    }
+
+    /** Writes {@code length} bytes of the array starting at {@code offset}. */
+    void write(byte[] bits, int offset, int length) {
+        ensureCapacity(length);
+        if (view != null) {
+            for (int i = 0; i < length; i++) {
+                view.setInt8(pos++, bits[offset + i]);
+            }
+        } else {
+            System.arraycopy(bits, offset, array, pos, length);
+            pos += length;
         }
     }
 
-    private void write(byte[] b, int off, int len) {
-        for (int i = 0; i < len; i++) {
-            bytes.push(b[off + i]);
+    /** Writes {@code length} raw bytes of the view starting at {@code offset}. */
+    void write(DataView source, int offset, int length) {
+        ensureCapacity(length);
+        if (view != null) {
+            copy(source, offset, length, buffer, pos);
+            pos += length;
+        } else {
+            for (int i = 0; i < length; i++) {
+                array[pos++] = (byte) source.getInt8(offset + i);
+            }
         }
     }
 
     void writeBoolean(boolean v) {
-        bytes.push(v ? (byte) 1 : (byte) 0);
+        ensureCapacity(1);
+        put(pos++, v ? 1 : 0);
     }
 
     void writeByte(int v) {
-        bytes.push((byte) v);
+        ensureCapacity(1);
+        put(pos++, v);
     }
 
     void writeChar(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(2);
+        if (view != null) {
+            view.setUint16(pos, v & 0xFFFF);
+        } else {
+            array[pos] = (byte) (v >>> 8);
+            array[pos + 1] = (byte) v;
+        }
+        pos += 2;
     }
 
     void writeDouble(double v) {
-        ArrayBuffer buffer = new ArrayBuffer(8);
-        Int8Array array = new Int8Array(buffer);
-        DataView view = new DataView(buffer);
-        view.setFloat64(0, v);
-        for (int i = 0; i < array.getLength(); i++) {
-            bytes.push(array.getAt(i).byteValue());
+        if (view == null) {
+            writeLong(Double.doubleToLongBits(v));
+            return;
         }
+        ensureCapacity(8);
+        view.setFloat64(pos, v);
+        pos += 8;
     }
 
     void writeInt(int v) {
-        bytes.push((byte) (v >>> 24));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(4);
+        putInt(pos, v);
+        pos += 4;
     }
 
     void writeLong(long v) {
-        bytes.push((byte) (v >>> 56));
-        bytes.push((byte) ((v >>> 48) & 0xFF));
-        bytes.push((byte) ((v >>> 40) & 0xFF));
-        bytes.push((byte) ((v >>> 32) & 0xFF));
-        bytes.push((byte) ((v >>> 24) & 0xFF));
-        bytes.push((byte) ((v >>> 16) & 0xFF));
-        bytes.push((byte) ((v >>> 8) & 0xFF));
-        bytes.push((byte) (v & 0xFF));
+        ensureCapacity(8);
+        putInt(pos, (int) (v >>> 32));
+        putInt(pos + 4, (int) v);
+        pos += 8;
     }
 
-    private void writeShort(int v) {
-        bytes.push((byte) (v >>> 8));
-        bytes.push((byte) (v & 0xFF));
+    private void putInt(int position, int v) {
+        if (view != null) {
+            view.setInt32(position, v);
+        } else {
+            array[position] = (byte) (v >>> 24);
+            array[position + 1] = (byte) (v >>> 16);
+            array[position + 2] = (byte) (v >>> 8);
+            array[position + 3] = (byte) v;
+        }
     }
 
     void writeUTF(String s) {
         int length = s.length();
-        byte[] bytes = new byte[length * 3];
-        int bl = 0;
+        ensureCapacity(2 + length * 3);
+        int start = pos;
+        pos += 2; // the length is written once the string has been encoded
         char c;
         for (int i = 0; i < length; i++) {
             c = s.charAt(i);
             if (c > 0 && c <= 0x7f) {
-                bytes[bl++] = (byte) c;
+                put(pos++, c);
             } else if (c <= 0x07ff) {
-                bytes[bl++] = (byte) (0xc0 | 0x1f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                put(pos++, 0xc0 | 0x1f & c >> 6);
+                put(pos++, 0x80 | 0x3f & c);
             } else {
-                bytes[bl++] = (byte) (0xe0 | 0x0f & c >> 12);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c >> 6);
-                bytes[bl++] = (byte) (0x80 | 0x3f & c);
+                put(pos++, 0xe0 | 0x0f & c >> 12);
+                put(pos++, 0x80 | 0x3f & c >> 6);
+                put(pos++, 0x80 | 0x3f & c);
             }
         }
-        writeShort(bl);
-        write(bytes, 0, bl);
+        int bytes = pos - start - 2;
+        put(start, bytes >>> 8);
+        put(start + 1, bytes);
     }
-}
\ No newline at end of file
+}
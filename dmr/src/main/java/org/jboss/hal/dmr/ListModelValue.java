@@ -27,7 +27,15 @@ import java.util.NoSuchElementException;
 class ListModelValue extends ModelValue {
 
     public static final ModelNode[] NO_NODES = new ModelNode[0];
-    private final List<ModelNode> list;
+    private List<ModelNode> list;
+
+    // used in lazy mode until the list has been decoded
+    private DataInput source;
+    private int count;
+    private int container;
+    private int start;
+    private int end;
+    private boolean protectOnDecode;
 
     ListModelValue() {
         super(ModelType.LIST);
@@ -36,7 +44,16 @@ class ListModelValue extends ModelValue {
 
     private ListModelValue(ListModelValue orig) {
         super(ModelType.LIST);
-        list = new ArrayList<>(orig.list);
+        if (orig.list == null) {
+            // not yet decoded: share the bytes and decode independently
+            source = orig.source;
+            count = orig.count;
+            container = orig.container;
+            start = orig.start;
+            end = orig.end;
+        } else {
+            list = new ArrayList<>(orig.list);
+        }
     }
 
     ListModelValue(List<ModelNode> list) {
@@ -47,27 +64,66 @@ class ListModelValue extends ModelValue {
     ListModelValue(DataInput in) {
         super(ModelType.LIST);
         int count = in.readInt();
-        ArrayList<ModelNode> list = new ArrayList<>();
+        if (in.isLazy()) {
+            this.source = in;
+            this.count = count;
+            this.container = in.container();
+            this.start = in.position();
+            in.skipChildren(false, count);
+            this.end = in.position();
+        } else {
+            this.list = decode(in, count);
+        }
+    }
+
+    private static ArrayList<ModelNode> decode(DataInput in, int count) {
+        ArrayList<ModelNode> list = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
             ModelNode value = new ModelNode();
             value.readExternal(in);
             list.add(value);
         }
-        this.list = list;
+        return list;
+    }
+
+    /** Returns the list and decodes it first if necessary. */
+    private List<ModelNode> list() {
+        if (list == null) {
+            List<ModelNode> decoded = decode(source.fork(start, container + 1), count);
+            if (protectOnDecode) {
+                for (ModelNode node : decoded) {
+                    node.protect();
+                }
+                decoded = Collections.unmodifiableList(decoded);
+            }
+            list = decoded;
+            source = null;
+        }
+        return list;
     }
 
     @Override
     void writeExternal(DataOutput out) {
-        List<ModelNode> list = this.list;
-        int size = list.size();
-        out.writeInt(size);
-        for (ModelNode node : list) {
-            node.writeExternal(out);
+        if (list == null) {
+            // not yet decoded: copy the raw bytes
+            out.writeInt(count);
+            source.copyTo(out, start, end);
+        } else {
+            List<ModelNode> list = this.list;
+            int size = list.size();
+            out.writeInt(size);
+            for (ModelNode node : list) {
+                node.writeExternal(out);
+            }
         }
     }
 
     @Override
     ModelValue protect() {
+        if (list == null) {
+            protectOnDecode = true;
+            return this;
+        }
         List<ModelNode> list = this.list;
         for (ModelNode node : list) {
             node.protect();
@@ -87,7 +143,7 @@ class ListModelValue extends ModelValue {
 
     @Override
     int asInt() {
-        return list.size();
+        return list == null ? count : list.size();
     }
 
     @Override
@@ -97,7 +153,7 @@ class ListModelValue extends ModelValue {
 
     @Override
     boolean asBoolean() {
-        return !list.isEmpty();
+        return asInt() != 0;
     }
 
     @Override
@@ -107,8 +163,8 @@ class ListModelValue extends ModelValue {
 
     @Override
     Property asProperty() {
-        if (list.size() == 2) {
-            return new Property(list.get(0).asString(), list.get(1));
+        if (list().size() == 2) {
+            return new Property(list().get(0).asString(), list().get(1));
         } else {
             return super.asProperty();
         }
@@ -117,7 +173,7 @@ class ListModelValue extends ModelValue {
     @Override
     List<Property> asPropertyList() {
         List<Property> propertyList = new ArrayList<>();
-        Iterator<ModelNode> i = list.iterator();
+        Iterator<ModelNode> i = list().iterator();
         while (i.hasNext()) {
             ModelNode node = i.next();
             if (node.getType() == ModelType.PROPERTY) {
@@ -133,7 +189,7 @@ class ListModelValue extends ModelValue {
     @Override
     ModelNode asObject() {
         ModelNode node = new ModelNode();
-        Iterator<ModelNode> i = list.iterator();
+        Iterator<ModelNode> i = list().iterator();
         while (i.hasNext()) {
             ModelNode name = i.next();
             if (name.getType() == ModelType.PROPERTY) {
@@ -149,7 +205,7 @@ class ListModelValue extends ModelValue {
 
     @Override
     ModelNode getChild(int index) {
-        List<ModelNode> list = this.list;
+        List<ModelNode> list = list();
         int size = list.size();
         if (size <= index) {
             for (int i = 0; i < index - size + 1; i++) {
@@ -162,13 +218,13 @@ class ListModelValue extends ModelValue {
     @Override
     ModelNode addChild() {
         ModelNode node = new ModelNode();
-        list.add(node);
+        list().add(node);
         return node;
     }
 
     @Override
     List<ModelNode> asList() {
-        return Collections.unmodifiableList(list);
+        return Collections.unmodifiableList(list());
     }
 
     @Override
@@ -178,8 +234,8 @@ class ListModelValue extends ModelValue {
 
     @Override
     ModelValue resolve() {
-        ArrayList<ModelNode> copy = new ArrayList<>(list.size());
-        for (ModelNode node : list) {
+        ArrayList<ModelNode> copy = new ArrayList<>(list().size());
+        for (ModelNode node : list()) {
             copy.add(node.resolve());
         }
         return new ListModelValue(copy);
@@ -194,7 +250,7 @@ class ListModelValue extends ModelValue {
 
     @Override
     void format(StringBuilder builder, int indent, boolean multiLineRequested) {
-        boolean multiLine = multiLineRequested && list.size() > 1;
+        boolean multiLine = multiLineRequested && list().size() > 1;
         List<ModelNode> list = asList();
         Iterator<ModelNode> iterator = list.iterator();
         builder.append('[');
@@ -220,7 +276,7 @@ class ListModelValue extends ModelValue {
 
     @Override
     void formatAsJSON(StringBuilder builder, int indent, boolean multiLineRequested) {
-        boolean multiLine = multiLineRequested && list.size() > 1;
+        boolean multiLine = multiLineRequested && list().size() > 1;
         List<ModelNode> list = asList();
         Iterator<ModelNode> iterator = list.iterator();
         builder.append('[');
@@ -264,23 +320,23 @@ class ListModelValue extends ModelValue {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(ListModelValue other) {
-        return this == other || other != null && list.equals(other.list);
+        return this == other || other != null && list().equals(other.list());
     }
 
     @Override
     public int hashCode() {
-        return list.hashCode();
+        return list().hashCode();
     }
 
     @Override
     boolean has(int index) {
-        return 0 <= index && index < list.size();
+        return 0 <= index && index < asInt();
     }
 
     @Override
     ModelNode requireChild(int index) throws NoSuchElementException {
         try {
-            return list.get(index);
+            return list().get(index);
         } catch (IndexOutOfBoundsException ignored) {
             return super.requireChild(index);
         }
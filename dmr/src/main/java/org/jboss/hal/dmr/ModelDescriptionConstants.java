@@ -327,6 +327,7 @@ public interface ModelDescriptionConstants {
     String EXPOSED_SUBSYSTEMS = "exposed-subsystems";
     String EXPRESSION = "expression";
     String EXPRESSIONS_ALLOWED = "expressions-allowed";
+    String EXTENSION = "extension";
     String EXTENSION_POINT = "extension-point";
     String EXTERNAL_JMS_QUEUE = "external-jms-queue";
     String EXTERNAL_JMS_TOPIC = "external-jms-topic";
@@ -29,7 +29,15 @@ import java.util.Set;
  */
 class ObjectModelValue extends ModelValue {
 
-    private final Map<String, ModelNode> map;
+    private Map<String, ModelNode> map;
+
+    // used in lazy mode until the map has been decoded
+    private DataInput source;
+    private int count;
+    private int container;
+    private int start;
+    private int end;
+    private boolean protectOnDecode;
 
     ObjectModelValue() {
         super(ModelType.OBJECT);
@@ -41,9 +49,32 @@ class ObjectModelValue extends ModelValue {
         this.map = map;
     }
 
+    /** Copies a value which has not been decoded yet. The copy shares the bytes and decodes independently. */
+    private ObjectModelValue(ObjectModelValue lazy) {
+        super(ModelType.OBJECT);
+        this.source = lazy.source;
+        this.count = lazy.count;
+        this.container = lazy.container;
+        this.start = lazy.start;
+        this.end = lazy.end;
+    }
+
     ObjectModelValue(DataInput in) {
         super(ModelType.OBJECT);
         int count = in.readInt();
+        if (in.isLazy()) {
+            this.source = in;
+            this.count = count;
+            this.container = in.container();
+            this.start = in.position();
+            in.skipChildren(true, count);
+            this.end = in.position();
+        } else {
+            this.map = decode(in, count);
+        }
+    }
+
+    private static LinkedHashMap<String, ModelNode> decode(DataInput in, int count) {
         LinkedHashMap<String, ModelNode> map = new LinkedHashMap<>();
         for (int i = 0; i < count; i++) {
             String key = in.readUTF();
@@ -51,22 +82,48 @@ class ObjectModelValue extends ModelValue {
             value.readExternal(in);
             map.put(key, value);
         }
-        this.map = map;
+        return map;
+    }
+
+    /** Returns the map and decodes it first if necessary. */
+    private Map<String, ModelNode> map() {
+        if (map == null) {
+            Map<String, ModelNode> decoded = decode(source.fork(start, container + 1), count);
+            if (protectOnDecode) {
+                for (ModelNode node : decoded.values()) {
+                    node.protect();
+                }
+                decoded = Collections.unmodifiableMap(decoded);
+            }
+            map = decoded;
+            source = null;
+        }
+        return map;
     }
 
     @Override
     void writeExternal(DataOutput out) {
-        Map<String, ModelNode> map = this.map;
-        int size = map.size();
-        out.writeInt(size);
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
-            out.writeUTF(entry.getKey());
-            entry.getValue().writeExternal(out);
+        if (map == null) {
+            // not yet decoded: copy the raw bytes
+            out.writeInt(count);
+            source.copyTo(out, start, end);
+        } else {
+            Map<String, ModelNode> map = this.map;
+            int size = map.size();
+            out.writeInt(size);
+            for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeExternal(out);
+            }
         }
     }
 
     @Override
     ModelValue protect() {
+        if (map == null) {
+            protectOnDecode = true;
+            return this;
+        }
         Map<String, ModelNode> map = this.map;
         for (ModelNode node : map.values()) {
             node.protect();
@@ -84,12 +141,12 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        ModelNode node = map.get(name);
+        ModelNode node = map().get(name);
         if (node != null) {
             return node;
         }
         ModelNode newNode = new ModelNode();
-        map.put(name, newNode);
+        map().put(name, newNode);
         return newNode;
     }
 
@@ -98,12 +155,12 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        return map.remove(name);
+        return map().remove(name);
     }
 
     @Override
     int asInt() {
-        return map.size();
+        return map == null ? count : map.size();
     }
 
     @Override
@@ -123,18 +180,18 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     boolean asBoolean() {
-        return !map.isEmpty();
+        return asInt() != 0;
     }
 
     @Override
     boolean asBoolean(boolean defVal) {
-        return !map.isEmpty();
+        return asBoolean();
     }
 
     @Override
     Property asProperty() {
-        if (map.size() == 1) {
-            Map.Entry<String, ModelNode> entry = map.entrySet().iterator().next();
+        if (map().size() == 1) {
+            Map.Entry<String, ModelNode> entry = map().entrySet().iterator().next();
             return new Property(entry.getKey(), entry.getValue());
         }
         return super.asProperty();
@@ -143,7 +200,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     List<Property> asPropertyList() {
         List<Property> propertyList = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             propertyList.add(new Property(entry.getKey(), entry.getValue()));
         }
         return propertyList;
@@ -160,8 +217,11 @@ class ObjectModelValue extends ModelValue {
     }
 
     ModelValue copy(boolean resolve) {
+        if (map == null && !resolve) {
+            return new ObjectModelValue(this);
+        }
         LinkedHashMap<String, ModelNode> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             newMap.put(entry.getKey(), resolve ? entry.getValue().resolve() : entry.getValue().clone());
         }
         return new ObjectModelValue(newMap);
@@ -170,7 +230,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     List<ModelNode> asList() {
         ArrayList<ModelNode> nodes = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             ModelNode node = new ModelNode();
             node.set(entry.getKey(), entry.getValue());
             nodes.add(node);
@@ -180,7 +240,7 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     Set<String> getKeys() {
-        return map.keySet();
+        return map().keySet();
     }
 
     @Override
@@ -193,11 +253,11 @@ class ObjectModelValue extends ModelValue {
     @Override
     void format(StringBuilder builder, int indent, boolean multiLineRequested) {
         builder.append('{');
-        boolean multiLine = multiLineRequested && map.size() > 1;
+        boolean multiLine = multiLineRequested && map().size() > 1;
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -221,11 +281,11 @@ class ObjectModelValue extends ModelValue {
     @Override
     void formatAsJSON(StringBuilder builder, int indent, boolean multiLineRequested) {
         builder.append('{');
-        boolean multiLine = multiLineRequested && map.size() > 1;
+        boolean multiLine = multiLineRequested && map().size() > 1;
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -266,22 +326,22 @@ class ObjectModelValue extends ModelValue {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(ObjectModelValue other) {
-        return this == other || other != null && other.map.equals(map);
+        return this == other || other != null && other.map().equals(map());
     }
 
     @Override
     public int hashCode() {
-        return map.hashCode();
+        return map().hashCode();
     }
 
     @Override
     boolean has(String key) {
-        return map.containsKey(key);
+        return map().containsKey(key);
     }
 
     @Override
     ModelNode requireChild(String name) throws NoSuchElementException {
-        ModelNode node = map.get(name);
+        ModelNode node = map().get(name);
         if (node != null) {
             return node;
         }
@@ -133,6 +133,11 @@ public class Operation extends ModelNode {
         return parameter.isDefined() && !parameter.asList().isEmpty();
     }
 
+    @JsIgnore
+    public boolean hasHeader() {
+        return header.isDefined() && !header.asList().isEmpty();
+    }
+
     @JsIgnore
     public Set<String> getRoles() {
         return roles;
@@ -171,7 +176,7 @@ public class Operation extends ModelNode {
             }
             builder.append(")");
         }
-        if (header.isDefined() && !header.asList().isEmpty()) {
+        if (hasHeader()) {
             builder.append("{");
             for (Iterator<Property> iterator = header.asPropertyList().iterator(); iterator.hasNext(); ) {
                 Property p = iterator.next();
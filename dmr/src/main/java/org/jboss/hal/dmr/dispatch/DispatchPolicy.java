@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Single;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Defines the timeout and the retries of an operation executed by the {@link Dispatcher}. Retries use an exponential
+ * backoff with jitter and are only made for communication errors like timeouts or unavailable servers. Failed
+ * operations are never retried. By default only read-only operations are retried.
+ * <pre>
+ * DispatchPolicy policy = new DispatchPolicy.Builder()
+ *         .timeout(30_000)
+ *         .retries(3)
+ *         .build();
+ * dispatcher.execute(operation, policy).subscribe(...);
+ * </pre>
+ */
+public class DispatchPolicy {
+
+    /** Status code used for {@link DispatchError}s caused by a timeout. */
+    public static final int TIMEOUT_STATUS = 408;
+
+    /** No timeout and no retries. */
+    public static final DispatchPolicy NONE = new Builder().build();
+
+    /** Timeout and retries for read-only operations which should survive short network outages. */
+    public static final DispatchPolicy READ = new Builder()
+            .timeout(60_000)
+            .retries(2)
+            .build();
+
+    private static final Logger logger = LoggerFactory.getLogger(DispatchPolicy.class);
+
+    private final int timeout;
+    private final int retries;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double jitter;
+    private final boolean idempotentOnly;
+
+    private DispatchPolicy(Builder builder) {
+        this.timeout = builder.timeout;
+        this.retries = builder.retries;
+        this.initialDelay = builder.initialDelay;
+        this.maxDelay = builder.maxDelay;
+        this.jitter = builder.jitter;
+        this.idempotentOnly = builder.idempotentOnly;
+    }
+
+    /** @return the XHR timeout in ms or 0 if there's no timeout */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchPolicy(timeout: " + timeout + " ms, retries: " + retries + ", delay: " + initialDelay +
+                " - " + maxDelay + " ms, jitter: " + jitter + ", idempotentOnly: " + idempotentOnly + ")";
+    }
+
+    /** Applies the retries of this policy to the specified single which executes the specified operation. */
+    <T> Single<T> retry(Single<T> single, Operation operation) {
+        if (retries <= 0 || (idempotentOnly && !Dispatcher.readOnlyOperation(operation))) {
+            return single;
+        }
+        return single.retryWhen(errors -> errors
+                .zipWith(Observable.range(1, retries + 1), Attempt::new)
+                .flatMap(attempt -> {
+                    if (attempt.number > retries || !retryable(attempt.error)) {
+                        return Observable.<Long>error(attempt.error);
+                    }
+                    long delay = backoff(attempt.number, initialDelay, maxDelay, jitter);
+                    logger.debug("Retry #{} of {} in {} ms: {}", attempt.number, operation.asCli(), delay,
+                            attempt.error.getMessage());
+                    return Observable.timer(delay, MILLISECONDS);
+                }));
+    }
+
+    /** @return whether the error is a communication error which might go away if the operation is executed again */
+    static boolean retryable(Throwable error) {
+        if (error instanceof DispatchError) {
+            int status = ((DispatchError) error).getStatusCode();
+            return status == 0 || status == TIMEOUT_STATUS || status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+
+    /**
+     * Calculates an exponential backoff delay.
+     *
+     * @param attempt      the one-based number of the attempt
+     * @param initialDelay the delay of the first attempt in ms
+     * @param maxDelay     the upper bound of the delay in ms
+     * @param jitter       the random fraction in [0, 1] which is subtracted from the delay
+     *
+     * @return the delay in ms
+     */
+    static long backoff(int attempt, long initialDelay, long maxDelay, double jitter) {
+        double delay = initialDelay * Math.pow(2, Math.max(0, attempt - 1));
+        delay = Math.min(maxDelay, delay);
+        delay = delay * (1 - jitter * Math.random());
+        return Math.max(0, Math.round(delay));
+    }
+
+
+    private static class Attempt {
+
+        private final Throwable error;
+        private final int number;
+
+        private Attempt(Throwable error, int number) {
+            this.error = error;
+            this.number = number;
+        }
+    }
+
+
+    public static class Builder {
+
+        private int timeout;
+        private int retries;
+        private long initialDelay;
+        private long maxDelay;
+        private double jitter;
+        private boolean idempotentOnly;
+
+        public Builder() {
+            this.timeout = 0;
+            this.retries = 0;
+            this.initialDelay = 500;
+            this.maxDelay = 8_000;
+            this.jitter = 0.5;
+            this.idempotentOnly = true;
+        }
+
+        /** Sets the XHR timeout in ms. Use 0 for no timeout. */
+        public Builder timeout(int timeout) {
+            this.timeout = Math.max(0, timeout);
+            return this;
+        }
+
+        /** Sets the maximum number of retries. */
+        public Builder retries(int retries) {
+            this.retries = Math.max(0, retries);
+            return this;
+        }
+
+        /** Sets the delay before the first retry and the upper bound of the delay in ms. */
+        public Builder backoff(long initialDelay, long maxDelay) {
+            this.initialDelay = Math.max(0, initialDelay);
+            this.maxDelay = Math.max(this.initialDelay, maxDelay);
+            return this;
+        }
+
+        /** Sets the random fraction in [0, 1] which is subtracted from the delay. */
+        public Builder jitter(double jitter) {
+            this.jitter = Math.min(1, Math.max(0, jitter));
+            return this;
+        }
+
+        /** Whether to retry non read-only operations as well. Use with care! */
+        public Builder retryAll() {
+            this.idempotentOnly = false;
+            return this;
+        }
+
+        public DispatchPolicy build() {
+            return new DispatchPolicy(this);
+        }
+    }
+}
@@ -16,13 +16,16 @@
 package org.jboss.hal.dmr.dispatch;
 
 import com.google.web.bindery.event.shared.EventBus;
+import elemental2.core.ArrayBuffer;
 import elemental2.dom.*;
 import elemental2.dom.Blob.ConstructorBlobPartsArrayUnionType;
 import elemental2.dom.FormData.AppendValueUnionType;
 import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
 import org.jboss.hal.config.AccessControlProvider;
 import org.jboss.hal.config.Endpoints;
 import org.jboss.hal.config.Environment;
@@ -49,6 +52,7 @@ import java.util.function.Consumer;
 import static com.google.common.collect.Sets.difference;
 import static elemental2.core.Global.encodeURIComponent;
 import static elemental2.dom.DomGlobal.navigator;
+import static elemental2.dom.DomGlobal.performance;
 import static java.util.stream.Collectors.joining;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
@@ -63,6 +67,8 @@ public class Dispatcher implements RecordingHandler {
     static final String APPLICATION_DMR_ENCODED = "application/dmr-encoded";
     static final String APPLICATION_JSON = "application/json";
 
+    private static final String ARRAY_BUFFER = "arraybuffer";
+
     private static final String HEADER_MANAGEMENT_CLIENT_VALUE = "HAL";
 
     private static final Logger logger = LoggerFactory.getLogger(Dispatcher.class);
@@ -84,6 +90,9 @@ public class Dispatcher implements RecordingHandler {
     private final Macros macros;
     private final OnFail failedCallback;
     private final OnError exceptionCallback;
+    private final OperationCoalescer coalescer;
+    private final ResponseCache responseCache;
+    private final DispatcherMetrics metrics;
 
     @Inject
     @JsIgnore
@@ -112,6 +121,9 @@ public class Dispatcher implements RecordingHandler {
                         new MessageEvent(Message.error(resources.messages().lastOperationException(), t.getMessage())));
             }
         };
+        this.responseCache = new ResponseCache();
+        this.metrics = new DispatcherMetrics();
+        this.coalescer = new OperationCoalescer(this::execute, this::execute);
     }
 
 
@@ -138,6 +150,13 @@ public class Dispatcher implements RecordingHandler {
         return dmr(operations).map(payload -> compositeResult(payload));
     }
 
+    /** Executes the composite operation using the specified timeout and retry policy. */
+    @JsIgnore
+    public Single<CompositeResult> execute(Composite operations, DispatchPolicy policy) {
+        //noinspection Convert2MethodRef
+        return dmr(operations, policy).map(payload -> compositeResult(payload));
+    }
+
     private CompositeResult compositeResult(ModelNode payload) {
         return new CompositeResult(payload.get(RESULT));
     }
@@ -165,6 +184,88 @@ public class Dispatcher implements RecordingHandler {
         return dmr(operation).map(payload -> payload.get(RESULT));
     }
 
+    /**
+     * Executes the operation using the specified timeout and retry policy. Operations executed without a policy use
+     * {@link DispatchPolicy#NONE}.
+     */
+    @JsIgnore
+    public Single<ModelNode> execute(Operation operation, DispatchPolicy policy) {
+        return dmr(operation, policy).map(payload -> payload.get(RESULT));
+    }
+
+    // ------------------------------------------------------ execute coalesced
+
+    /**
+     * Executes a read-only operation together with other read-only operations which are issued within a short time
+     * window as one composite operation. Identical operations which are still in flight share one request.
+     * <p>
+     * Operations which are not read-only, operations with headers or roles and operations issued while recording a
+     * macro are executed as usual.
+     */
+    @JsIgnore
+    public void executeCoalesced(Operation operation, Consumer<ModelNode> success) {
+        executeCoalesced(operation).subscribe(
+                new ModelNodeSingleSubscriber(operation, success, failedCallback, exceptionCallback));
+    }
+
+    /**
+     * Executes a read-only operation together with other read-only operations which are issued within a short time
+     * window as one composite operation. Identical operations which are still in flight share one request.
+     * <p>
+     * Operations which are not read-only, operations with headers or roles and operations issued while recording a
+     * macro are executed as usual.
+     */
+    @JsIgnore
+    public Single<ModelNode> executeCoalesced(Operation operation) {
+        return coalesce(operation) ? coalescer.execute(operation) : execute(operation);
+    }
+
+    private boolean coalesce(Operation operation) {
+        return !(operation instanceof Composite) &&
+                readOnlyOperation(operation) &&
+                !operation.hasHeader() &&
+                operation.getRoles().isEmpty() &&
+                macros.current() == null;
+    }
+
+
+    // ------------------------------------------------------ execute cached
+
+    /**
+     * Executes the operation and caches the response for a short time. Subsequent calls return the cached response
+     * until it expires or until a write operation clears it. Use this method only to load the items of finder columns,
+     * never for polling or refresh actions. Operations which are not covered by the {@link ResponseCache} and
+     * operations issued while recording a macro are executed as usual.
+     */
+    @JsIgnore
+    public void executeCached(Operation operation, Consumer<ModelNode> success) {
+        executeCached(operation).subscribe(
+                new ModelNodeSingleSubscriber(operation, success, failedCallback, exceptionCallback));
+    }
+
+    /**
+     * Executes the operation and caches the response for a short time. Subsequent calls return the cached response
+     * until it expires or until a write operation clears it. Use this method only to load the items of finder columns,
+     * never for polling or refresh actions. Operations which are not covered by the {@link ResponseCache} and
+     * operations issued while recording a macro are executed as usual.
+     */
+    @JsIgnore
+    public Single<ModelNode> executeCached(Operation operation) {
+        Operation dmrOperation = runAs(operation); // runAs might mutate the operation, so do it synchronously
+        if (macros.current() == null && responseCache.cacheable(dmrOperation)) {
+            return Single.defer(() -> {
+                ModelNode payload = responseCache.get(dmrOperation);
+                if (payload != null) {
+                    return Single.just(payload);
+                }
+                return dmr(operation, dmrOperation, DispatchPolicy.NONE)
+                        .doOnSuccess(response -> responseCache.put(dmrOperation, response));
+            }).map(payload -> payload.get(RESULT));
+        }
+        return execute(operation);
+    }
+
+
     /**
      * Executes the operation and upon successful result calls the success function with the response results, but
      * doesn't retrieve the "result" payload as the other execute methods does. You should use this execute method if
@@ -183,22 +284,40 @@ public class Dispatcher implements RecordingHandler {
     }
 
     private Single<ModelNode> dmr(Operation operation) {
+        return dmr(operation, DispatchPolicy.NONE);
+    }
+
+    private Single<ModelNode> dmr(Operation operation, DispatchPolicy policy) {
         Operation dmrOperation = runAs(operation); // runAs might mutate the operation, so do it synchronously
+        if (!readOnlyOperation(dmrOperation)) {
+            return dmr(operation, dmrOperation, policy)
+                    .doOnSuccess(response -> responseCache.invalidate(dmrOperation));
+        }
+        return dmr(operation, dmrOperation, policy);
+    }
+
+    private Single<ModelNode> dmr(Operation operation, Operation dmrOperation, DispatchPolicy policy) {
         String url = endpoints.dmr();
         // ^-- those eager fields are useful if we don't want to evaluate it on each Single subscription
-        return Single.fromEmitter(emitter -> {
+        return policy.retry(Single.fromEmitter(emitter -> {
             // in general, code inside the RX type should be able to be executed multiple times and always returns
             // the same result, so we need to be careful to not mutate anything (like the operation). This is useful
             // for example if we want to use the retry operator which will try again (subscribe again) if it fails.
-            XMLHttpRequest xhr = newDmrXhr(url, dmrOperation, new DmrPayloadProcessor(), emitter::onSuccess,
+            String body = dmrOperation.toBase64String();
+            XMLHttpRequest xhr = newDmrXhr(url, dmrOperation, body.length(),
+                    new DmrPayloadProcessor(lazyDecoding(dmrOperation)),
+                    emitter::onSuccess,
                     (op, fail) -> emitter.onError(new DispatchFailure(fail, operation)),
                     (op, error) -> emitter.onError(error));
             xhr.setRequestHeader(ACCEPT.header(), APPLICATION_DMR_ENCODED);
             xhr.setRequestHeader(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
-            xhr.send(dmrOperation.toBase64String());
+            // decode the response directly from the bytes w/o creating intermediate strings
+            xhr.responseType = ARRAY_BUFFER;
+            xhr.timeout = policy.getTimeout();
+            xhr.send(body);
             logger.trace("DMR operation: {}", operation);
             recordOperation(operation);
-        });
+        }), dmrOperation);
     }
 
 
@@ -243,12 +362,14 @@ public class Dispatcher implements RecordingHandler {
             formData.append(file.name, AppendValueUnionType.of(file));
         }
         formData.append(OPERATION, new Blob(new ConstructorBlobPartsArrayUnionType[]{blob}, options));
-        return uploadFormData(formData, uploadOperation).map(payload -> payload.get(RESULT));
+        return uploadFormData(formData, uploadOperation)
+                .doOnSuccess(payload -> responseCache.invalidate(uploadOperation))
+                .map(payload -> payload.get(RESULT));
     }
 
     private Single<ModelNode> uploadFormData(FormData formData, Operation operation) {
         return Single.fromEmitter(emitter -> {
-            XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), operation, new UploadPayloadProcessor(),
+            XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), operation, 0, new UploadPayloadProcessor(),
                     emitter::onSuccess,
                     (op, fail) -> emitter.onError(new DispatchFailure(fail, operation)),
                     (op, error) -> emitter.onError(error));
@@ -344,16 +465,30 @@ public class Dispatcher implements RecordingHandler {
 
     // ------------------------------------------------------ xhr
 
-    private XMLHttpRequest newDmrXhr(String url, Operation operation, PayloadProcessor payloadProcessor,
-            Consumer<ModelNode> success, OnFail fail, OnError error) {
-        return newXhr(url, POST, operation, error, xhr -> {
+    private XMLHttpRequest newDmrXhr(String url, Operation operation, int requestBytes,
+            PayloadProcessor payloadProcessor, Consumer<ModelNode> success, OnFail fail, OnError error) {
+        DispatcherMetrics.Sample sample = metrics.start(operation, requestBytes);
+        OnError measuredError = (op, exception) -> {
+            sample.failure();
+            error.onException(op, exception);
+        };
+        return newXhr(url, POST, operation, measuredError, xhr -> {
             int status = xhr.status;
-            String responseText = xhr.responseText;
             String contentType = xhr.getResponseHeader(CONTENT_TYPE.header());
 
             if (status == 200 || status == 500) {
-                ModelNode payload = payloadProcessor.processPayload(POST, contentType, responseText);
+                ModelNode payload;
+                double decodeStart = performance.now();
+                if (ARRAY_BUFFER.equals(xhr.responseType)) {
+                    ArrayBuffer buffer = Js.uncheckedCast(xhr.response);
+                    payload = payloadProcessor.processPayload(POST, contentType, buffer);
+                    sample.response((int) buffer.byteLength, performance.now() - decodeStart);
+                } else {
+                    payload = payloadProcessor.processPayload(POST, contentType, xhr.responseText);
+                    sample.response(xhr.responseText.length(), performance.now() - decodeStart);
+                }
                 if (!payload.isFailure()) {
+                    sample.success();
                     if (environment.isStandalone()) {
                         if (payload.hasDefined(RESPONSE_HEADERS)) {
                             Header[] headers = new Header[]{new Header(payload.get(RESPONSE_HEADERS))};
@@ -373,11 +508,12 @@ public class Dispatcher implements RecordingHandler {
                     }
                     success.accept(payload);
                 } else {
+                    sample.failure();
                     fail.onFailed(operation, payload.getFailureDescription());
                 }
             } else {
                 if (!pendingLifecycleAction) {
-                    handleErrorCodes(url, status, operation, error);
+                    handleErrorCodes(url, status, operation, measuredError);
                 }
             }
         });
@@ -390,6 +526,9 @@ public class Dispatcher implements RecordingHandler {
         xhr.onload = event -> onLoad.onLoad(xhr);
         xhr.addEventListener("error",  //NON-NLS
                 event -> handleErrorCodes(url, xhr.status, operation, error), false);
+        xhr.addEventListener("timeout",  //NON-NLS
+                event -> error.onException(operation, new DispatchError(DispatchPolicy.TIMEOUT_STATUS,
+                        "Timeout after " + xhr.timeout + " ms for '" + operation.asCli() + "'.", operation)), false);
         xhr.open(method.name(), url, true);
         xhr.setRequestHeader(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
         String bearerToken = getBearerToken();
@@ -490,7 +629,23 @@ public class Dispatcher implements RecordingHandler {
         }
     }
 
-    private boolean readOnlyOperation(Operation operation) {
+    /**
+     * The results of read-resource-description operations are always traversed completely. Decoding them lazily would
+     * only add the costs of skipping the bytes, so they're decoded eagerly.
+     */
+    static boolean lazyDecoding(Operation operation) {
+        if (operation instanceof Composite) {
+            for (Operation op : (Composite) operation) {
+                if (READ_RESOURCE_DESCRIPTION_OPERATION.equals(op.getName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return !READ_RESOURCE_DESCRIPTION_OPERATION.equals(operation.getName());
+    }
+
+    static boolean readOnlyOperation(Operation operation) {
         if (operation instanceof Composite) {
             Composite composite = (Composite) operation;
             for (Operation op : composite) {
@@ -505,6 +660,24 @@ public class Dispatcher implements RecordingHandler {
     }
 
 
+    // ------------------------------------------------------ response cache
+
+    /** @return the cache for the responses of read operations */
+    @JsProperty(name = "responseCache")
+    public ResponseCache responseCache() {
+        return responseCache;
+    }
+
+
+    // ------------------------------------------------------ metrics
+
+    /** @return the metrics of the executed operations */
+    @JsProperty(name = "metrics")
+    public DispatcherMetrics metrics() {
+        return metrics;
+    }
+
+
     // ------------------------------------------------------ JS methods
 
     /**
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static elemental2.dom.DomGlobal.performance;
+import static java.util.Comparator.comparing;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBSYSTEM;
+
+/**
+ * Collects metrics about the operations executed by the {@link Dispatcher}. The metrics are grouped by operation name
+ * and by address template. The address template replaces all values except the subsystem name with a wildcard
+ * ({@code /subsystem=datasources/data-source=*}).
+ * <p>
+ * Composite operations are grouped by the distinct names and templates of their steps, e.g. {@code
+ * composite(read-resource, read-children-names)}. Only the first {@value #MAX_STEPS} distinct templates are part of
+ * the key.
+ * <p>
+ * Use the metrics from the browser console or from the diagnostics dialog in the footer:
+ * <pre>
+ * hal.core.Core.getInstance().dispatcher.metrics.summary()
+ * </pre>
+ */
+@JsType(namespace = "hal.dmr")
+public class DispatcherMetrics {
+
+    /** Upper bounds in ms of the latency buckets. The last bucket contains all latencies above the last bound. */
+    public static final int[] BUCKETS = new int[]{50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    static final int MAX_STEPS = 3;
+    private static final String OPERATION_PREFIX = "op:";
+    private static final String TEMPLATE_PREFIX = "template:";
+
+    private final Map<String, Metric> metrics;
+
+    DispatcherMetrics() {
+        this.metrics = new LinkedHashMap<>();
+    }
+
+    Sample start(Operation operation, int requestBytes) {
+        return new Sample(operation, requestBytes);
+    }
+
+    /** @return the metrics grouped by operation name sorted by total time */
+    @JsProperty(name = "operations")
+    public Metric[] operations() {
+        return sorted(OPERATION_PREFIX);
+    }
+
+    /** @return the metrics grouped by address template sorted by total time */
+    @JsProperty(name = "templates")
+    public Metric[] templates() {
+        return sorted(TEMPLATE_PREFIX);
+    }
+
+    /** Resets all metrics. */
+    @JsMethod
+    public void reset() {
+        metrics.clear();
+    }
+
+    /** @return a human readable summary of all metrics */
+    @JsMethod
+    public String summary() {
+        StringBuilder builder = new StringBuilder();
+        for (Metric metric : operations()) {
+            builder.append(metric).append("\n");
+        }
+        for (Metric metric : templates()) {
+            builder.append(metric).append("\n");
+        }
+        return builder.toString();
+    }
+
+    private Metric[] sorted(String prefix) {
+        List<Metric> result = new ArrayList<>();
+        metrics.forEach((key, metric) -> {
+            if (key.startsWith(prefix)) {
+                result.add(metric);
+            }
+        });
+        result.sort(comparing(Metric::getTotalTime).reversed());
+        return result.toArray(new Metric[0]);
+    }
+
+    private Metric metric(String prefix, String name) {
+        return metrics.computeIfAbsent(prefix + name, key -> new Metric(name));
+    }
+
+    /** @return the operation name or the distinct step names of a composite operation */
+    static String name(Operation operation) {
+        return operation instanceof Composite
+                ? steps((Composite) operation, Operation::getName, Integer.MAX_VALUE)
+                : operation.getName();
+    }
+
+    /** @return the address template or the first distinct step templates of a composite operation */
+    static String template(Operation operation) {
+        return operation instanceof Composite
+                ? steps((Composite) operation, step -> template(step.getAddress()), MAX_STEPS)
+                : template(operation.getAddress());
+    }
+
+    private static String steps(Composite composite, Function<Operation, String> key, int max) {
+        Set<String> keys = new LinkedHashSet<>();
+        boolean more = false;
+        for (Operation step : composite) {
+            String value = key.apply(step);
+            if (keys.size() < max) {
+                keys.add(value);
+            } else if (!keys.contains(value)) {
+                more = true;
+            }
+        }
+        return composite.getName() + "(" + String.join(", ", keys) + (more ? ", ..." : "") + ")";
+    }
+
+    static String template(ResourceAddress address) {
+        if (address == null || !address.isDefined() || address.asList().isEmpty()) {
+            return "/";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Property segment : address.asPropertyList()) {
+            builder.append("/").append(segment.getName()).append("=");
+            builder.append(SUBSYSTEM.equals(segment.getName()) ? segment.getValue().asString() : "*");
+        }
+        return builder.toString();
+    }
+
+
+    /** Measures one request. Created right before the request is sent. */
+    class Sample {
+
+        private final Operation operation;
+        private final int requestBytes;
+        private final double start;
+        private int responseBytes;
+        private double decodeTime;
+
+        private Sample(Operation operation, int requestBytes) {
+            this.operation = operation;
+            this.requestBytes = requestBytes;
+            this.start = performance.now();
+        }
+
+        void response(int responseBytes, double decodeTime) {
+            this.responseBytes = responseBytes;
+            this.decodeTime = decodeTime;
+        }
+
+        void success() {
+            record(false);
+        }
+
+        void failure() {
+            record(true);
+        }
+
+        private void record(boolean failed) {
+            double latency = performance.now() - start;
+            metric(OPERATION_PREFIX, name(operation))
+                    .record(latency, requestBytes, responseBytes, decodeTime, failed);
+            metric(TEMPLATE_PREFIX, template(operation))
+                    .record(latency, requestBytes, responseBytes, decodeTime, failed);
+        }
+    }
+
+
+    /** Metrics of one operation name or address template. */
+    @JsType(namespace = "hal.dmr", name = "DispatcherMetric")
+    public static class Metric {
+
+        private final String name;
+        private final int[] histogram;
+        private int count;
+        private int failures;
+        private double totalTime;
+        private double maxTime;
+        private double decodeTime;
+        private double requestBytes;
+        private double responseBytes;
+        private double maxResponseBytes;
+
+        Metric(String name) {
+            this.name = name;
+            this.histogram = new int[BUCKETS.length + 1];
+        }
+
+        void record(double latency, int requestBytes, int responseBytes, double decodeTime, boolean failed) {
+            count++;
+            if (failed) {
+                failures++;
+            }
+            totalTime += latency;
+            maxTime = Math.max(maxTime, latency);
+            this.decodeTime += decodeTime;
+            this.requestBytes += requestBytes;
+            this.responseBytes += responseBytes;
+            maxResponseBytes = Math.max(maxResponseBytes, responseBytes);
+
+            int bucket = 0;
+            while (bucket < BUCKETS.length && latency > BUCKETS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket]++;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + count + " requests, " + failures + " failures, avg " + round(getAverageTime()) +
+                    " ms, max " + round(maxTime) + " ms, decode " + round(decodeTime) + " ms, request " +
+                    Math.round(requestBytes) + " bytes, response " + Math.round(responseBytes) + " bytes (max " +
+                    Math.round(maxResponseBytes) + ")";
+        }
+
+        private String round(double value) {
+            return String.valueOf(Math.round(value * 10) / 10.0);
+        }
+
+        /** @return the operation name or address template */
+        @JsProperty
+        public String getName() {
+            return name;
+        }
+
+        /** @return the number of requests per latency bucket as defined in {@link #BUCKETS} */
+        @JsProperty
+        public int[] getHistogram() {
+            return histogram;
+        }
+
+        @JsProperty
+        public int getCount() {
+            return count;
+        }
+
+        @JsProperty
+        public int getFailures() {
+            return failures;
+        }
+
+        /** @return the sum of all latencies in ms */
+        @JsProperty
+        public double getTotalTime() {
+            return totalTime;
+        }
+
+        @JsProperty
+        public double getAverageTime() {
+            return count == 0 ? 0 : totalTime / count;
+        }
+
+        @JsProperty
+        public double getMaxTime() {
+            return maxTime;
+        }
+
+        /** @return the sum of all decode times in ms */
+        @JsProperty
+        public double getDecodeTime() {
+            return decodeTime;
+        }
+
+        @JsProperty
+        public double getRequestBytes() {
+            return requestBytes;
+        }
+
+        @JsProperty
+        public double getResponseBytes() {
+            return responseBytes;
+        }
+
+        @JsProperty
+        public double getMaxResponseBytes() {
+            return maxResponseBytes;
+        }
+    }
+}
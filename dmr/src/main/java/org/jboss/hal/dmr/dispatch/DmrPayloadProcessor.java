@@ -15,6 +15,9 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.function.Supplier;
+
+import elemental2.core.ArrayBuffer;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
 
@@ -23,12 +26,39 @@ import static org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod.GET;
 
 public class DmrPayloadProcessor implements PayloadProcessor {
 
+    /**
+     * Responses bigger than this number of (base64 encoded) bytes are decoded lazily. See {@link
+     * ModelNode#fromBase64(ArrayBuffer, boolean)}
+     */
+    static final int LAZY_THRESHOLD = 64 * 1024;
+
+    private final boolean lazy;
+
+    public DmrPayloadProcessor() {
+        this(true);
+    }
+
+    /** @param lazy whether responses bigger than {@link #LAZY_THRESHOLD} may be decoded lazily */
+    DmrPayloadProcessor(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     @Override
     public ModelNode processPayload(final HttpMethod method, final String contentType, final String payload) {
+        return process(method, contentType, () -> ModelNode.fromBase64(payload));
+    }
+
+    @Override
+    public ModelNode processPayload(final HttpMethod method, final String contentType, final ArrayBuffer payload) {
+        boolean decodeLazily = lazy && payload.byteLength > LAZY_THRESHOLD;
+        return process(method, contentType, () -> ModelNode.fromBase64(payload, decodeLazily));
+    }
+
+    private ModelNode process(HttpMethod method, String contentType, Supplier<ModelNode> decoder) {
         ModelNode node;
         if (contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)) {
             try {
-                node = ModelNode.fromBase64(payload);
+                node = decoder.get();
                 if (method == GET && !node.isFailure()) {
                     // For GET request the response is purely the model nodes result. The outcome
                     // is not send as part of the response but expressed with the HTTP status code.
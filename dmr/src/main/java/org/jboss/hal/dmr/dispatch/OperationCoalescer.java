@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Single;
+import rx.SingleEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static elemental2.dom.DomGlobal.setTimeout;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
+
+/**
+ * Merges read operations which are issued within a short time window into one composite operation and fans the step
+ * results back out to the callers. Identical operations which are still in flight share one request.
+ * <p>
+ * Operations are identified by their CLI representation, which includes the address, the name and the parameters. The
+ * returned singles are lazy: the operation is queued when the single is subscribed.
+ */
+class OperationCoalescer {
+
+    /** The time window in ms used to collect operations before they're sent as one composite. */
+    static final int WINDOW = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationCoalescer.class);
+
+    private final Function<Operation, Single<ModelNode>> single;
+    private final Function<Composite, Single<CompositeResult>> composite;
+    private final Consumer<Runnable> scheduler;
+    private final Map<String, Call> inFlight;
+    private final List<Call> queue;
+    private boolean scheduled;
+
+    /**
+     * @param single    executes one operation and returns the result of the operation
+     * @param composite executes a composite operation and returns the composite result
+     */
+    OperationCoalescer(Function<Operation, Single<ModelNode>> single,
+            Function<Composite, Single<CompositeResult>> composite) {
+        this(single, composite, flush -> setTimeout(ignore -> flush.run(), WINDOW));
+    }
+
+    /**
+     * @param single    executes one operation and returns the result of the operation
+     * @param composite executes a composite operation and returns the composite result
+     * @param scheduler runs the flush of the queued operations when the time window has elapsed
+     */
+    OperationCoalescer(Function<Operation, Single<ModelNode>> single,
+            Function<Composite, Single<CompositeResult>> composite, Consumer<Runnable> scheduler) {
+        this.single = single;
+        this.composite = composite;
+        this.scheduler = scheduler;
+        this.inFlight = new HashMap<>();
+        this.queue = new ArrayList<>();
+        this.scheduled = false;
+    }
+
+    Single<ModelNode> execute(Operation operation) {
+        return Single.fromEmitter(emitter -> {
+            String key = operation.asCli();
+            Call call = inFlight.get(key);
+            if (call == null) {
+                call = new Call(key, operation);
+                inFlight.put(key, call);
+                queue.add(call);
+                schedule();
+            } else {
+                logger.debug("Share in-flight operation {}", key);
+            }
+            call.emitters.add(emitter);
+        });
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<Call> calls = new ArrayList<>(queue);
+        queue.clear();
+        scheduled = false;
+
+        if (calls.size() == 1) {
+            executeSingle(calls.get(0));
+
+        } else if (!calls.isEmpty()) {
+            List<Operation> operations = new ArrayList<>();
+            for (Call call : calls) {
+                operations.add(call.operation);
+            }
+            logger.debug("Coalesce {} operations into one composite", calls.size());
+            composite.apply(new Composite(operations)).subscribe(
+                    result -> {
+                        for (int i = 0; i < calls.size(); i++) {
+                            Call call = calls.get(i);
+                            ModelNode step = result.step(i);
+                            if (step.isFailure()) {
+                                call.fail(new DispatchFailure(step.getFailureDescription(), call.operation));
+                            } else {
+                                call.succeed(step.get(RESULT));
+                            }
+                        }
+                    },
+                    throwable -> {
+                        if (throwable instanceof DispatchFailure) {
+                            // rollback of the whole composite: execute the operations one by one to get the
+                            // result or failure of each operation
+                            calls.forEach(this::executeSingle);
+                        } else {
+                            calls.forEach(call -> call.fail(throwable));
+                        }
+                    });
+        }
+    }
+
+    private void executeSingle(Call call) {
+        single.apply(call.operation).subscribe(call::succeed, call::fail);
+    }
+
+
+    private class Call {
+
+        private final String key;
+        private final Operation operation;
+        private final List<SingleEmitter<ModelNode>> emitters;
+
+        private Call(String key, Operation operation) {
+            this.key = key;
+            this.operation = operation;
+            this.emitters = new ArrayList<>();
+        }
+
+        private void succeed(ModelNode result) {
+            inFlight.remove(key);
+            for (int i = 0; i < emitters.size(); i++) {
+                // every caller gets its own copy, since callers might modify the result
+                emitters.get(i).onSuccess(i == 0 ? result : result.clone());
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            inFlight.remove(key);
+            for (SingleEmitter<ModelNode> emitter : emitters) {
+                emitter.onError(throwable);
+            }
+        }
+    }
+}
@@ -15,13 +15,16 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import elemental2.core.ArrayBuffer;
 import org.jboss.hal.dmr.ModelNode;
 
 /** Interface to turn the raw base64 encoded payload of a DMR response into a model node. */
-@FunctionalInterface
 interface PayloadProcessor {
 
     String PARSE_ERROR = "Unable to parse response with unexpected content-type ";
 
     ModelNode processPayload(Dispatcher.HttpMethod method, String contentType, String payload);
+
+    /** Processes the payload of an XHR with {@code responseType = "arraybuffer"}. */
+    ModelNode processPayload(Dispatcher.HttpMethod method, String contentType, ArrayBuffer payload);
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Short-lived cache for the responses of read operations executed by {@link Dispatcher#executeCached(Operation)}. Only
+ * the operations listed in {@link #TTL} are cached and only if they don't include runtime attributes. Each operation
+ * is cached for a fixed time and the least recently used responses are evicted once the cache contains {@link
+ * #MAX_SIZE} responses.
+ * <p>
+ * A successful write operation invalidates all responses whose address is a parent or a child of the address of the
+ * write operation. Since the servers of a domain reflect the configuration of their profiles, server groups and hosts,
+ * a write operation outside of a server also invalidates all responses of the servers. Use the hit and miss counters
+ * from the browser console to tune the cache:
+ * <pre>
+ * hal.core.Core.getInstance().dispatcher.responseCache
+ * </pre>
+ */
+@JsType(namespace = "hal.dmr")
+public class ResponseCache {
+
+    static final int MAX_SIZE = 250;
+
+    /** Time to live in ms per operation name. */
+    static final Map<String, Long> TTL = new HashMap<>();
+
+    static {
+        TTL.put(READ_CHILDREN_TYPES_OPERATION, 60_000L);
+        TTL.put(READ_CHILDREN_NAMES_OPERATION, 15_000L);
+        TTL.put(READ_CHILDREN_RESOURCES_OPERATION, 10_000L);
+        TTL.put(READ_RESOURCE_OPERATION, 10_000L);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final Map<String, Entry> entries;
+    private int hits;
+    private int misses;
+    private int invalidations;
+
+    ResponseCache() {
+        // access order turns the linked hash map into a LRU cache
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_SIZE;
+            }
+        };
+    }
+
+    boolean cacheable(Operation operation) {
+        return !(operation instanceof Composite) &&
+                TTL.containsKey(operation.getName()) &&
+                !operation.hasHeader() &&
+                !(operation.getParameter().hasDefined(INCLUDE_RUNTIME) &&
+                        operation.getParameter().get(INCLUDE_RUNTIME).asBoolean());
+    }
+
+    /** @return a copy of the cached payload or {@code null} if there's no payload or the payload has expired */
+    ModelNode get(Operation operation) {
+        String key = key(operation);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expires > System.currentTimeMillis()) {
+            hits++;
+            return entry.payload.clone();
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    void put(Operation operation, ModelNode payload) {
+        long ttl = TTL.get(operation.getName());
+        entries.put(key(operation), new Entry(segments(operation.getAddress()), payload.clone(),
+                System.currentTimeMillis() + ttl));
+    }
+
+    /** Removes all responses affected by the specified write operation or by the steps of a composite. */
+    void invalidate(Operation operation) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (operation instanceof Composite) {
+            for (Operation step : (Composite) operation) {
+                invalidate(step);
+            }
+        } else {
+            int removed = 0;
+            List<String> address = segments(operation.getAddress());
+            for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (related(address, entry.address) || server(entry.address) && !server(address)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                invalidations += removed;
+                logger.debug("Invalidated {} cached responses for {}", removed, operation.asCli());
+            }
+        }
+    }
+
+    /** Removes all cached responses. */
+    public void clear() {
+        entries.clear();
+    }
+
+    /** @return the number of cache hits */
+    @JsProperty
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the number of cache misses */
+    @JsProperty
+    public int getMisses() {
+        return misses;
+    }
+
+    /** @return the number of responses removed by write operations */
+    @JsProperty
+    public int getInvalidations() {
+        return invalidations;
+    }
+
+    /** @return the number of cached responses */
+    @JsProperty
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache(size: " + entries.size() + ", hits: " + hits + ", misses: " + misses +
+                ", invalidations: " + invalidations + ")";
+    }
+
+    /**
+     * Builds a key from the address, the name, the sorted parameters and the roles of the operation, so that
+     * operations with the same parameters in a different order share one entry.
+     */
+    static String key(Operation operation) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.join("/", segments(operation.getAddress())))
+                .append(":")
+                .append(operation.getName());
+        if (operation.hasParameter()) {
+            Map<String, String> parameters = new TreeMap<>();
+            for (Property property : operation.getParameter().asPropertyList()) {
+                parameters.put(property.getName(), property.getValue().asString());
+            }
+            builder.append(parameters.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(joining(",", "(", ")")));
+        }
+        if (!operation.getRoles().isEmpty()) {
+            builder.append(operation.getRoles().stream().sorted().collect(joining(",", "{", "}")));
+        }
+        return builder.toString();
+    }
+
+    private static List<String> segments(ResourceAddress address) {
+        List<String> segments = new ArrayList<>();
+        if (address != null && address.isDefined()) {
+            for (Property property : address.asPropertyList()) {
+                segments.add(property.getName() + "=" + property.getValue().asString());
+            }
+        }
+        return segments;
+    }
+
+    /** @return whether one address is equal to or a parent of the other address, taking wildcards into account */
+    private static boolean related(List<String> address, List<String> other) {
+        int length = Math.min(address.size(), other.size());
+        for (int i = 0; i < length; i++) {
+            if (!matches(address.get(i), other.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return whether the address is the address of a server or of a resource below a server */
+    private static boolean server(List<String> address) {
+        return address.size() > 1 && address.get(0).startsWith(HOST + "=") && address.get(1).startsWith(SERVER + "=");
+    }
+
+    private static boolean matches(String segment, String other) {
+        if (segment.equals(other)) {
+            return true;
+        }
+        int index = segment.indexOf('=');
+        return index != -1 && other.startsWith(segment.substring(0, index + 1)) &&
+                (segment.endsWith("=*") || other.endsWith("=*"));
+    }
+
+
+    private static class Entry {
+
+        private final List<String> address;
+        private final ModelNode payload;
+        private final long expires;
+
+        private Entry(List<String> address, ModelNode payload, long expires) {
+            this.address = address;
+            this.payload = payload;
+            this.expires = expires;
+        }
+    }
+}
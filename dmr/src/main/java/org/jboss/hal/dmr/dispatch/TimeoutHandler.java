@@ -33,10 +33,16 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILED;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.OUTCOME;
 
-/** Executes a DMR operation until a specific condition is met or a timeout occurs. */
+/**
+ * Executes a DMR operation until a specific condition is met or a timeout occurs. The delay between the executions
+ * starts at {@value #INITIAL_INTERVAL} ms and grows exponentially up to {@value #MAX_INTERVAL} ms, so that a
+ * recovering server is not flooded with operations.
+ */
 public class TimeoutHandler {
 
-    private static int INTERVAL = 500;
+    private static final long INITIAL_INTERVAL = 500;
+    private static final long MAX_INTERVAL = 5_000;
+    private static final double JITTER = 0.2;
     private static Logger logger = LoggerFactory.getLogger(TimeoutHandler.class);
 
     /** Executes the operation until it successfully returns. */
@@ -55,17 +61,16 @@ public class TimeoutHandler {
             Predicate<ModelNode> until) {
         logger.debug("Repeat {} using {} seconds timeout", operation.asCli(), timeout);
 
-        Single<ModelNode> execution = Single.fromEmitter(em -> dispatcher.execute(operation, em::onSuccess,
-                (op, fail) -> em.onSuccess(operationFailure("Dispatcher failure: " + fail)),
-                (op, ex) -> em.onSuccess(operationFailure("Dispatcher exception: " + ex.getMessage()))));
+        // no retries: the repetition is controlled by this class
+        Single<ModelNode> execution = dispatcher.execute(operation, DispatchPolicy.NONE)
+                .onErrorReturn(ex -> ex instanceof DispatchFailure
+                        ? operationFailure("Dispatcher failure: " + ex.getMessage())
+                        : operationFailure("Dispatcher exception: " + ex.getMessage()));
         if (until == null) {
             until = r -> !r.isFailure(); // default: until success
         }
 
-        return Observable
-                .interval(INTERVAL, MILLISECONDS) // execute a operation each INTERVAL millis
-                .doOnEach(n -> logger.debug("#{}: execute {}", n.getValue(), operation.asCli()))
-                .flatMapSingle(n -> execution, false, 1)
+        return repeat(execution.toObservable(), operation.asCli())
                 .takeUntil(until::test) // until succeeded
                 .toCompletable().timeout(timeout, SECONDS); // wait succeeded or stop after timeout seconds
     }
@@ -79,21 +84,32 @@ public class TimeoutHandler {
             Predicate<CompositeResult> until) {
         logger.debug("Repeat {} using {} seconds as timeout", composite, timeout);
 
-        Single<CompositeResult> execution = Single.fromEmitter(em -> dispatcher.execute(composite, em::onSuccess,
-                (op, fail) -> em.onSuccess(compositeFailure("Dispatcher failure: " + fail)),
-                (op, ex) -> em.onSuccess(compositeFailure("Dispatcher exception: " + ex.getMessage()))));
+        // no retries: the repetition is controlled by this class
+        Single<CompositeResult> execution = dispatcher.execute(composite, DispatchPolicy.NONE)
+                .onErrorReturn(ex -> ex instanceof DispatchFailure
+                        ? compositeFailure("Dispatcher failure: " + ex.getMessage())
+                        : compositeFailure("Dispatcher exception: " + ex.getMessage()));
         if (until == null) {
             until = r -> r.stream().noneMatch(ModelNode::isFailure); // default: until success
         }
 
-        return Observable
-                .interval(INTERVAL, MILLISECONDS) // execute a operation each INTERVAL millis
-                .doOnEach(n -> logger.debug("#{}: execute {}", n.getValue(), composite))
-                .flatMapSingle(n -> execution, false, 1)
+        return repeat(execution.toObservable(), composite.toString())
                 .takeUntil(until::test) // until succeeded
                 .toCompletable().timeout(timeout, SECONDS); // wait succeeded or stop after timeout seconds
     }
 
+    /**
+     * Repeats the execution after an exponentially growing delay. Each delay is part of its execution, so the timer
+     * starts only after the previous execution has finished.
+     */
+    private static <T> Observable<T> repeat(Observable<T> execution, String description) {
+        return Observable.range(1, Integer.MAX_VALUE)
+                .concatMap(n -> Observable.timer(
+                        DispatchPolicy.backoff(n, INITIAL_INTERVAL, MAX_INTERVAL, JITTER), MILLISECONDS)
+                        .doOnNext(ignore -> logger.debug("#{}: execute {}", n, description))
+                        .concatMap(ignore -> execution));
+    }
+
     private static ModelNode operationFailure(String reason) {
         ModelNode node = new ModelNode();
         node.get(OUTCOME).set(FAILED);
@@ -15,6 +15,9 @@
  */
 package org.jboss.hal.dmr.dispatch;
 
+import java.util.function.Supplier;
+
+import elemental2.core.ArrayBuffer;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
 import org.jboss.hal.js.Json;
@@ -30,14 +33,23 @@ public class UploadPayloadProcessor implements PayloadProcessor {
 
     @Override
     public ModelNode processPayload(final HttpMethod method, final String contentType, final String payload) {
+        return process(contentType, () -> ModelNode.fromBase64(payload), () -> payload);
+    }
+
+    @Override
+    public ModelNode processPayload(final HttpMethod method, final String contentType, final ArrayBuffer payload) {
+        return process(contentType, () -> ModelNode.fromBase64(payload), () -> text(payload));
+    }
+
+    private ModelNode process(String contentType, Supplier<ModelNode> dmr, Supplier<String> json) {
         ModelNode node;
         if (contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)) {
-            node = ModelNode.fromBase64(payload);
+            node = dmr.get();
 
         } else if (contentType.startsWith(Dispatcher.APPLICATION_JSON)) {
             node = new ModelNode();
 
-            JsonObject jsonResponse = Json.parse(payload);
+            JsonObject jsonResponse = Json.parse(json.get());
             String jsonOutcome = jsonResponse.getString(OUTCOME);
             node.get(OUTCOME).set(jsonOutcome);
 
@@ -77,4 +89,19 @@ public class UploadPayloadProcessor implements PayloadProcessor {
         }
         return failure;
     }
+
+    /** Decodes the UTF-8 encoded bytes of the buffer. */
+    private static native String text(ArrayBuffer buffer) /*-{
+        if (typeof $wnd.TextDecoder !== "undefined") {
+            return new $wnd.TextDecoder("utf-8").decode(buffer);
+        }
+        // String.fromCharCode.apply() has a limit for the number of arguments
+        var chunk = 8192;
+        var bytes = new $wnd.Uint8Array(buffer);
+        var binary = "";
+        for (var i = 0; i < bytes.length; i += chunk) {
+            binary += String.fromCharCode.apply(null, bytes.subarray(i, Math.min(i + chunk, bytes.length)));
+        }
+        return decodeURIComponent(escape(binary));
+    }-*/;
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import elemental2.core.ArrayBuffer;
+import jsinterop.annotations.JsType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static elemental2.dom.DomGlobal.performance;
+
+/**
+ * Micro benchmark for the DMR codec. Encodes and decodes a model node using the different input formats and logs the
+ * average times. The benchmark is not part of the console. Add the test sources to a development build to use it from
+ * the browser console with a big payload like the result of a recursive {@code read-resource-description} operation:
+ * <pre>
+ * hal.dmr.CodecBenchmark.run(result, 50);
+ * </pre>
+ */
+@JsType(namespace = "hal.dmr")
+public class CodecBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodecBenchmark.class);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param node       The model node used for the benchmark.
+     * @param iterations The number of iterations for each format.
+     *
+     * @return a summary of the average times in milliseconds
+     */
+    public static String run(ModelNode node, int iterations) {
+        String base64 = node.toBase64String();
+        String binary = node.toBinaryString();
+        ArrayBuffer buffer = ascii(base64);
+
+        double encodeBase64 = measure(iterations, node::toBase64String);
+        double encodeBinary = measure(iterations, node::toBinaryString);
+        double decodeString = measure(iterations, () -> ModelNode.fromBase64(base64));
+        double decodeBuffer = measure(iterations, () -> ModelNode.fromBase64(buffer));
+        double decodeLazy = measure(iterations, () -> ModelNode.fromBase64(buffer, true));
+        double decodeBinary = measure(iterations, () -> ModelNode.fromBinaryString(binary));
+
+        String summary = "Payload: " + base64.length() + " base64 chars, " + binary.length() + " binary chars. " +
+                "Encode base64: " + format(encodeBase64) + " ms, " +
+                "encode binary: " + format(encodeBinary) + " ms, " +
+                "decode base64 string: " + format(decodeString) + " ms, " +
+                "decode base64 array buffer: " + format(decodeBuffer) + " ms, " +
+                "decode base64 array buffer (lazy): " + format(decodeLazy) + " ms, " +
+                "decode binary string: " + format(decodeBinary) + " ms";
+        logger.info(summary);
+        return summary;
+    }
+
+    private static double measure(int iterations, Runnable runnable) {
+        runnable.run(); // warm up
+        double start = performance.now();
+        for (int i = 0; i < iterations; i++) {
+            runnable.run();
+        }
+        return (performance.now() - start) / Math.max(1, iterations);
+    }
+
+    private static String format(double value) {
+        return String.valueOf(Math.round(value * 100) / 100.0);
+    }
+
+    private static native ArrayBuffer ascii(String str) /*-{
+        var bytes = new $wnd.Uint8Array(str.length);
+        for (var i = 0; i < str.length; ++i) {
+            bytes[i] = str.charCodeAt(i);
+        }
+        return bytes.buffer;
+    }-*/;
+
+    private CodecBenchmark() {
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
+public class LazyDecodingTest {
+
+    private static final int SERVERS = 10;
+
+    private ModelNode node;
+    private byte[] bytes;
+
+    @Before
+    public void setUp() {
+        node = new ModelNode();
+        node.get(OUTCOME).set(SUCCESS);
+        ModelNode result = node.get(RESULT);
+        for (int i = 0; i < SERVERS; i++) {
+            ModelNode server = result.get("server-" + i);
+            server.get(NAME).set("server-" + i);
+            server.get("port").set(8080 + i);
+            server.get("weight").set(0.5 * i);
+            server.get("started").set(i % 2 == 0);
+            server.get("since").set(1000L * i);
+            server.get("tags").add("a").add("b");
+            server.get("nested").get("deeper").get("deepest").set(i);
+            server.get("property").set("key", new ModelNode().set(i));
+            server.get("list-of-objects").add().get("index").set(i);
+            server.get("empty").setEmptyList();
+            server.get(UNDEFINED);
+        }
+        bytes = write(node);
+    }
+
+    @Test
+    public void eager() {
+        ModelNode decoded = read(bytes, false);
+        assertEquals(node, decoded);
+        assertArrayEquals(bytes, write(decoded));
+    }
+
+    @Test
+    public void untouched() {
+        assertArrayEquals(bytes, write(read(bytes, true)));
+    }
+
+    @Test
+    public void decoded() {
+        ModelNode decoded = read(bytes, true);
+        assertEquals(node, decoded);
+        assertEquals(node.toString(), decoded.toString());
+        assertArrayEquals(bytes, write(decoded));
+    }
+
+    @Test
+    public void partial() {
+        ModelNode decoded = read(bytes, true);
+        ModelNode server = decoded.get(RESULT).get("server-3");
+        assertEquals(3, server.get("nested").get("deeper").get("deepest").asInt());
+        assertEquals(3, server.get("list-of-objects").get(0).get("index").asInt());
+        assertEquals(3, server.get("property").asProperty().getValue().asInt());
+        assertEquals(1.5, server.get("weight").asDouble(), 0.0);
+        assertEquals(3000L, server.get("since").asLong());
+        assertEquals(SERVERS, decoded.get(RESULT).asInt());
+        assertArrayEquals(bytes, write(decoded));
+    }
+
+    @Test
+    public void cloneUntouched() {
+        ModelNode decoded = read(bytes, true);
+        ModelNode clone = decoded.clone();
+        clone.get(RESULT).get("server-1").get("port").set(1);
+
+        assertEquals(1, clone.get(RESULT).get("server-1").get("port").asInt());
+        assertEquals(8081, decoded.get(RESULT).get("server-1").get("port").asInt());
+        assertArrayEquals(bytes, write(decoded));
+    }
+
+    @Test
+    public void clonePartial() {
+        ModelNode decoded = read(bytes, true);
+        decoded.get(RESULT).get("server-2").get("port").set(2);
+        ModelNode clone = decoded.clone();
+
+        assertEquals(2, clone.get(RESULT).get("server-2").get("port").asInt());
+        assertEquals(node.get(RESULT).get("server-5"), clone.get(RESULT).get("server-5"));
+    }
+
+    private static byte[] write(ModelNode node) {
+        DataOutput out = DataOutput.byteArray();
+        node.writeExternal(out);
+        return out.toByteArray();
+    }
+
+    private static ModelNode read(byte[] bytes, boolean lazy) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(bytes, lazy));
+        return node;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.dispatch.DispatchPolicy.TIMEOUT_STATUS;
+import static org.jboss.hal.dmr.dispatch.DispatchPolicy.backoff;
+import static org.jboss.hal.dmr.dispatch.DispatchPolicy.retryable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class DispatchPolicyTest {
+
+    private static final Operation OPERATION = new Operation.Builder(ResourceAddress.root(), READ_RESOURCE_OPERATION)
+            .build();
+
+    @Test
+    public void backoffGrowsExponentially() {
+        assertEquals(500, backoff(1, 500, 8_000, 0));
+        assertEquals(1_000, backoff(2, 500, 8_000, 0));
+        assertEquals(2_000, backoff(3, 500, 8_000, 0));
+        assertEquals(4_000, backoff(4, 500, 8_000, 0));
+    }
+
+    @Test
+    public void backoffIsBounded() {
+        assertEquals(8_000, backoff(5, 500, 8_000, 0));
+        assertEquals(8_000, backoff(100, 500, 8_000, 0));
+        assertEquals(8_000, backoff(Integer.MAX_VALUE, 500, 8_000, 0));
+        assertEquals(500, backoff(0, 500, 8_000, 0));
+        assertEquals(0, backoff(3, 0, 0, 0));
+    }
+
+    @Test
+    public void backoffWithJitter() {
+        for (int i = 0; i < 100; i++) {
+            long delay = backoff(3, 500, 8_000, 0.5);
+            assertTrue(delay >= 1_000 && delay <= 2_000);
+        }
+        for (int i = 0; i < 100; i++) {
+            long delay = backoff(3, 500, 8_000, 1);
+            assertTrue(delay >= 0 && delay <= 2_000);
+        }
+    }
+
+    @Test
+    public void retryCommunicationErrors() {
+        assertTrue(retryable(new DispatchError(0, "no connection", OPERATION)));
+        assertTrue(retryable(new DispatchError(TIMEOUT_STATUS, "timeout", OPERATION)));
+        assertTrue(retryable(new DispatchError(502, "bad gateway", OPERATION)));
+        assertTrue(retryable(new DispatchError(503, "service unavailable", OPERATION)));
+        assertTrue(retryable(new DispatchError(504, "gateway timeout", OPERATION)));
+    }
+
+    @Test
+    public void dontRetryOtherErrors() {
+        assertFalse(retryable(new DispatchError(401, "unauthorized", OPERATION)));
+        assertFalse(retryable(new DispatchError(403, "forbidden", OPERATION)));
+        assertFalse(retryable(new DispatchError(500, "internal server error", OPERATION)));
+        assertFalse(retryable(new DispatchError(new IllegalStateException(), OPERATION)));
+        assertFalse(retryable(new DispatchFailure("failed", OPERATION)));
+        assertFalse(retryable(new IllegalStateException()));
+    }
+}
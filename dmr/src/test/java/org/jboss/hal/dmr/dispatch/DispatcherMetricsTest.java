@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.jboss.hal.dmr.dispatch.DispatcherMetrics.name;
+import static org.jboss.hal.dmr.dispatch.DispatcherMetrics.template;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
+public class DispatcherMetricsTest {
+
+    @Test
+    public void operation() {
+        Operation operation = read(datasource("foo"));
+        assertEquals(READ_RESOURCE_OPERATION, name(operation));
+        assertEquals("/subsystem=datasources/data-source=*", template(operation));
+    }
+
+    @Test
+    public void root() {
+        Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION).build();
+        assertEquals("/", template(operation));
+    }
+
+    @Test
+    public void composite() {
+        Composite composite = new Composite(read(datasource("foo")), read(datasource("bar")),
+                new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION).build());
+        assertEquals("composite(read-resource, read-children-names)", name(composite));
+        assertEquals("composite(/subsystem=datasources/data-source=*, /)", template(composite));
+    }
+
+    @Test
+    public void largeComposite() {
+        Composite composite = new Composite(read(datasource("foo")),
+                read(new ResourceAddress().add(SUBSYSTEM, "ee")),
+                read(new ResourceAddress().add(SUBSYSTEM, "ejb3")),
+                read(new ResourceAddress().add(SUBSYSTEM, "undertow")),
+                read(new ResourceAddress().add(SUBSYSTEM, "io")));
+        assertEquals("composite(read-resource)", name(composite));
+        assertEquals("composite(/subsystem=datasources/data-source=*, /subsystem=ee, /subsystem=ejb3, ...)",
+                template(composite));
+    }
+
+    private ResourceAddress datasource(String name) {
+        return new ResourceAddress().add(SUBSYSTEM, "datasources").add("data-source", name);
+    }
+
+    private Operation read(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.SingleEmitter;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
+public class OperationCoalescerTest {
+
+    private List<Runnable> flushes;
+    private List<Operation> singles;
+    private List<Composite> composites;
+    private List<ModelNode> results;
+    private List<Throwable> errors;
+    private Function<Operation, Single<ModelNode>> single;
+    private Function<Composite, Single<CompositeResult>> composite;
+    private OperationCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        flushes = new ArrayList<>();
+        singles = new ArrayList<>();
+        composites = new ArrayList<>();
+        results = new ArrayList<>();
+        errors = new ArrayList<>();
+        single = operation -> Single.just(new ModelNode().set(operation.get(NAME).asString()));
+        composite = c -> Single.just(compositeResult(c));
+        coalescer = new OperationCoalescer(
+                operation -> {
+                    singles.add(operation);
+                    return single.apply(operation);
+                },
+                c -> {
+                    composites.add(c);
+                    return composite.apply(c);
+                },
+                flushes::add);
+    }
+
+    @Test
+    public void window() {
+        execute("foo");
+        execute("bar");
+        assertEquals(1, flushes.size());
+        assertTrue(composites.isEmpty());
+        assertTrue(results.isEmpty());
+
+        flush();
+        assertEquals(1, composites.size());
+        assertEquals(2, composites.get(0).size());
+        assertTrue(singles.isEmpty());
+        assertResults("foo", "bar");
+    }
+
+    @Test
+    public void nextWindow() {
+        execute("foo");
+        flush();
+        execute("bar");
+        assertEquals(2, flushes.size());
+
+        flush();
+        assertResults("foo", "bar");
+    }
+
+    @Test
+    public void singleOperation() {
+        execute("foo");
+        flush();
+        assertEquals(1, singles.size());
+        assertTrue(composites.isEmpty());
+        assertResults("foo");
+    }
+
+    @Test
+    public void shareQueued() {
+        execute("foo");
+        execute("foo");
+        flush();
+        assertEquals(1, singles.size());
+        assertResults("foo", "foo");
+    }
+
+    @Test
+    public void shareInFlight() {
+        List<SingleEmitter<ModelNode>> pending = new ArrayList<>();
+        single = operation -> Single.fromEmitter(pending::add);
+
+        execute("foo");
+        flush();
+        execute("foo");
+        assertEquals(1, flushes.size());
+        assertEquals(1, singles.size());
+        assertTrue(results.isEmpty());
+
+        pending.get(0).onSuccess(new ModelNode().set("foo"));
+        assertResults("foo", "foo");
+
+        // not in flight any longer
+        execute("foo");
+        assertEquals(2, flushes.size());
+    }
+
+    @Test
+    public void copies() {
+        execute("foo");
+        execute("foo");
+        flush();
+
+        assertEquals(2, results.size());
+        assertNotSame(results.get(0), results.get(1));
+        results.get(0).set("modified");
+        assertEquals("foo", results.get(1).asString());
+    }
+
+    @Test
+    public void failedStep() {
+        composite = c -> {
+            CompositeResult result = compositeResult(c);
+            result.step(1).get(OUTCOME).set(FAILED);
+            result.step(1).get(FAILURE_DESCRIPTION).set("bar failed");
+            return Single.just(result);
+        };
+
+        execute("foo");
+        execute("bar");
+        flush();
+        assertResults("foo");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof DispatchFailure);
+        assertTrue(errors.get(0).getMessage().contains("bar failed"));
+    }
+
+    @Test
+    public void fallbackToSingles() {
+        composite = c -> Single.error(new DispatchFailure("rollback", c));
+
+        execute("foo");
+        execute("bar");
+        flush();
+        assertEquals(1, composites.size());
+        assertEquals(2, singles.size());
+        assertResults("foo", "bar");
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void error() {
+        RuntimeException error = new RuntimeException("offline");
+        composite = c -> Single.error(error);
+
+        execute("foo");
+        execute("bar");
+        flush();
+        assertTrue(singles.isEmpty());
+        assertTrue(results.isEmpty());
+        assertEquals(2, errors.size());
+        assertSame(error, errors.get(0));
+        assertSame(error, errors.get(1));
+    }
+
+    private void execute(String name) {
+        Operation operation = new Operation.Builder(new ResourceAddress().add(SUBSYSTEM, "logging"),
+                READ_ATTRIBUTE_OPERATION)
+                .param(NAME, name)
+                .build();
+        coalescer.execute(operation).subscribe(results::add, errors::add);
+    }
+
+    private void flush() {
+        flushes.get(flushes.size() - 1).run();
+    }
+
+    private void assertResults(String... expected) {
+        assertEquals(expected.length, results.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], results.get(i).asString());
+        }
+    }
+
+    private CompositeResult compositeResult(Composite composite) {
+        ModelNode steps = new ModelNode();
+        int index = 1;
+        for (Operation operation : composite) {
+            ModelNode step = steps.get("step-" + index++);
+            step.get(OUTCOME).set(SUCCESS);
+            step.get(RESULT).set(operation.get(NAME).asString());
+        }
+        return new CompositeResult(steps);
+    }
+}
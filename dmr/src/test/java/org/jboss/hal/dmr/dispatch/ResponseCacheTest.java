@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.*;
+
+@SuppressWarnings({"HardCodedStringLiteral", "DuplicateStringLiteralInspection"})
+public class ResponseCacheTest {
+
+    private ResponseCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ResponseCache();
+    }
+
+    @Test
+    public void cacheable() {
+        assertTrue(cache.cacheable(read(datasource("foo"))));
+        assertFalse(cache.cacheable(new Operation.Builder(datasource("foo"), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build()));
+        assertFalse(cache.cacheable(new Operation.Builder(datasource("foo"), ADD).build()));
+    }
+
+    @Test
+    public void keyIgnoresParameterOrder() {
+        Operation first = new Operation.Builder(datasource("foo"), READ_RESOURCE_OPERATION)
+                .param(RECURSIVE, true)
+                .param(INCLUDE_DEFAULTS, true)
+                .build();
+        Operation second = new Operation.Builder(datasource("foo"), READ_RESOURCE_OPERATION)
+                .param(INCLUDE_DEFAULTS, true)
+                .param(RECURSIVE, true)
+                .build();
+        assertEquals(ResponseCache.key(first), ResponseCache.key(second));
+    }
+
+    @Test
+    public void hitAndMiss() {
+        Operation operation = read(datasource("foo"));
+        assertNull(cache.get(operation));
+
+        cache.put(operation, payload("foo"));
+        ModelNode cached = cache.get(operation);
+        assertNotNull(cached);
+        assertEquals("foo", cached.get(RESULT).asString());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void invalidateParentAndChildren() {
+        Operation parent = read(new ResourceAddress().add(SUBSYSTEM, "datasources"));
+        Operation foo = read(datasource("foo"));
+        Operation bar = read(datasource("bar"));
+        cache.put(parent, payload("datasources"));
+        cache.put(foo, payload("foo"));
+        cache.put(bar, payload("bar"));
+
+        cache.invalidate(new Operation.Builder(datasource("foo"), WRITE_ATTRIBUTE_OPERATION).build());
+
+        assertNull(cache.get(parent));
+        assertNull(cache.get(foo));
+        assertNotNull(cache.get(bar));
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    public void invalidateWildcard() {
+        Operation all = read(datasource("*"));
+        cache.put(all, payload("all"));
+
+        cache.invalidate(new Operation.Builder(datasource("foo"), REMOVE).build());
+
+        assertNull(cache.get(all));
+    }
+
+    @Test
+    public void invalidateServers() {
+        Operation serverDeployments = new Operation.Builder(
+                new ResourceAddress().add(HOST, "*").add(SERVER, "*"), READ_CHILDREN_RESOURCES_OPERATION)
+                .param(CHILD_TYPE, DEPLOYMENT)
+                .build();
+        Operation profiles = read(new ResourceAddress().add(PROFILE, "full"));
+        cache.put(serverDeployments, payload("deployments"));
+        cache.put(profiles, payload("full"));
+
+        cache.invalidate(new Operation.Builder(
+                new ResourceAddress().add(SERVER_GROUP, "main-server-group").add(DEPLOYMENT, "foo.war"), ADD)
+                .build());
+
+        assertNull(cache.get(serverDeployments));
+        assertNotNull(cache.get(profiles));
+    }
+
+    @Test
+    public void keepOtherServers() {
+        Operation one = read(new ResourceAddress().add(HOST, "primary").add(SERVER, "server-one"));
+        Operation two = read(new ResourceAddress().add(HOST, "primary").add(SERVER, "server-two"));
+        cache.put(one, payload("server-one"));
+        cache.put(two, payload("server-two"));
+
+        cache.invalidate(new Operation.Builder(
+                new ResourceAddress().add(HOST, "primary").add(SERVER, "server-one").add(DEPLOYMENT, "foo.war"),
+                REMOVE).build());
+
+        assertNull(cache.get(one));
+        assertNotNull(cache.get(two));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        for (int i = 0; i < ResponseCache.MAX_SIZE + 1; i++) {
+            cache.put(read(datasource("ds" + i)), payload("ds" + i));
+        }
+        assertEquals(ResponseCache.MAX_SIZE, cache.getSize());
+        assertNull(cache.get(read(datasource("ds0"))));
+    }
+
+    private ResourceAddress datasource(String name) {
+        return new ResourceAddress().add(SUBSYSTEM, "datasources").add("data-source", name);
+    }
+
+    private Operation read(ResourceAddress address) {
+        return new Operation.Builder(address, READ_RESOURCE_OPERATION).build();
+    }
+
+    private ModelNode payload(String result) {
+        ModelNode payload = new ModelNode();
+        payload.get(OUTCOME).set(SUCCESS);
+        payload.get(RESULT).set(result);
+        return payload;
+    }
+}
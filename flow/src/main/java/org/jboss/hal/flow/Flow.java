@@ -17,12 +17,26 @@ package org.jboss.hal.flow;
 
 import java.util.Collection;
 
-import rx.Observable;
 import rx.Single;
 
 import static java.util.Arrays.asList;
 
-/** Collection of static methods to execute (async) tasks in order. Uses RxGWT for orchestration. */
+/**
+ * Collection of static methods to execute (async) tasks in order. Nested groups execute their tasks in order or in
+ * parallel. Uses RxGWT for orchestration.
+ * <p>
+ * Groups can be nested using {@link #inSeries(Task[])} and {@link #inParallel(Task[])}. The progress is reset once
+ * to the total number of (nested) tasks and ticks whenever one of them has finished:
+ * <pre>
+ * series(context,
+ *         inParallel(readHosts, readServers),
+ *         findNonProgressing)
+ *         .subscribe(...);
+ * </pre>
+ * Tasks which run in parallel share the same context. They should store their results using distinct keys with
+ * {@link FlowContext#set(String, Object)} instead of using the stack, since the order of the stack operations is
+ * undefined.
+ */
 public interface Flow {
 
     /** Executes multiple tasks in order. */
@@ -33,11 +47,26 @@ public interface Flow {
 
     /** Executes multiple tasks in order. */
     static <C extends FlowContext> Single<C> series(C context, Collection<? extends Task<C>> tasks) {
-        return Observable.from(tasks)
-                .flatMapSingle(task -> task.call(context).toSingleDefault(context), false, 1)
-                .doOnSubscribe(() -> context.progress.reset(tasks.size()))
-                .doOnNext(c -> c.progress.tick())
-                .doOnTerminate(context.progress::finish)
-                .lastOrDefault(context).toSingle();
+        return Group.execute(context, tasks, 1);
+    }
+
+    /** Returns a task which executes the specified tasks in order. Use it to nest groups of tasks. */
+    @SafeVarargs
+    static <C extends FlowContext> Task<C> inSeries(Task<C>... tasks) {
+        return new Group<>(asList(tasks), 1);
+    }
+
+    /** Returns a task which executes the specified tasks in parallel. Use it to nest groups of tasks. */
+    @SafeVarargs
+    static <C extends FlowContext> Task<C> inParallel(Task<C>... tasks) {
+        return new Group<>(asList(tasks), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a task which executes the specified tasks in parallel, but not more than {@code maxConcurrency} at the
+     * same time. Use it to nest groups of tasks.
+     */
+    static <C extends FlowContext> Task<C> inParallel(int maxConcurrency, Collection<? extends Task<C>> tasks) {
+        return new Group<>(tasks, maxConcurrency);
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import rx.Completable;
+import rx.Observable;
+import rx.Single;
+
+/** A task which executes other tasks in order or in parallel. Created by {@link Flow#inSeries(Task[])} and friends. */
+class Group<C extends FlowContext> implements Task<C> {
+
+    /** Executes the tasks, resets the progress to the number of (nested) tasks and finishes it at the end. */
+    static <C extends FlowContext> Single<C> execute(C context, Collection<? extends Task<C>> tasks,
+            int maxConcurrency) {
+        return run(context, tasks, maxConcurrency)
+                .doOnSubscribe(subscription -> context.progress.reset(size(tasks)))
+                .doOnTerminate(context.progress::finish)
+                .toSingleDefault(context);
+    }
+
+    /** Executes the tasks and ticks the progress after each (nested) task. */
+    static <C extends FlowContext> Completable run(C context, Collection<? extends Task<C>> tasks,
+            int maxConcurrency) {
+        if (tasks.isEmpty()) {
+            return Completable.complete();
+        }
+        int concurrency = Math.max(1, Math.min(maxConcurrency, tasks.size()));
+        return Observable.from(tasks)
+                .flatMapSingle(task -> {
+                    Completable completable = task.call(context);
+                    if (!(task instanceof Group)) {
+                        completable = completable.doOnCompleted(context.progress::tick);
+                    }
+                    return completable.toSingleDefault(context);
+                }, false, concurrency)
+                .toCompletable();
+    }
+
+    /** Returns the number of tasks including the tasks of nested groups. */
+    @SuppressWarnings("unchecked")
+    static <C extends FlowContext> int size(Collection<? extends Task<C>> tasks) {
+        int size = 0;
+        for (Task<C> task : tasks) {
+            size += task instanceof Group ? ((Group<C>) task).size() : 1;
+        }
+        return size;
+    }
+
+    private final List<Task<C>> tasks;
+    private final int maxConcurrency;
+
+    Group(Collection<? extends Task<C>> tasks, int maxConcurrency) {
+        this.tasks = new ArrayList<>(tasks);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public Completable call(C context) {
+        return run(context, tasks, maxConcurrency);
+    }
+
+    private int size() {
+        return size(tasks);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import rx.Completable;
+import rx.subjects.PublishSubject;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.flow.Flow.inParallel;
+import static org.jboss.hal.flow.Flow.inSeries;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class GroupTest {
+
+    private RecordingProgress progress;
+    private FlowContext context;
+    private List<String> calls;
+    private boolean success;
+    private Throwable error;
+
+    @Before
+    public void setUp() {
+        progress = new RecordingProgress();
+        context = new FlowContext(progress);
+        calls = new ArrayList<>();
+        success = false;
+        error = null;
+    }
+
+    @Test
+    public void series() {
+        execute(task("a"), task("b"), task("c"));
+
+        assertTrue(success);
+        assertEquals(asList("a", "b", "c"), calls);
+        assertEquals(3, progress.max);
+        assertEquals(3, progress.ticks);
+        assertEquals(1, progress.finished);
+    }
+
+    @Test
+    public void nestedProgress() {
+        execute(task("a"),
+                inParallel(task("b"), task("c")),
+                inSeries(task("d"), inParallel(task("e"), task("f"))));
+
+        assertTrue(success);
+        assertEquals(asList("a", "b", "c", "d", "e", "f"), calls);
+        assertEquals(6, progress.max);
+        assertEquals(6, progress.ticks);
+        assertEquals(1, progress.finished);
+    }
+
+    @Test
+    public void empty() {
+        execute();
+
+        assertTrue(success);
+        assertEquals(0, progress.max);
+        assertEquals(0, progress.ticks);
+        assertEquals(1, progress.finished);
+    }
+
+    @Test
+    public void maxConcurrency() {
+        List<PendingTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(new PendingTask());
+        }
+        execute(inParallel(2, tasks));
+
+        assertEquals(2, PendingTask.active);
+        assertFalse(success);
+        tasks.get(0).complete();
+        assertEquals(2, PendingTask.active);
+        tasks.get(1).complete();
+        tasks.get(2).complete();
+        assertEquals(2, PendingTask.active);
+        tasks.get(3).complete();
+        assertEquals(1, PendingTask.active);
+        tasks.get(4).complete();
+
+        assertTrue(success);
+        assertEquals(0, PendingTask.active);
+        assertEquals(2, PendingTask.max);
+        assertEquals(5, progress.ticks);
+    }
+
+    @Test
+    public void errorStopsSeries() {
+        execute(task("a"), failure("b"), task("c"));
+
+        assertFalse(success);
+        assertTrue(error instanceof FlowException);
+        assertEquals(asList("a", "b"), calls);
+        assertEquals(1, progress.ticks);
+        assertEquals(1, progress.finished);
+    }
+
+    @Test
+    public void errorInNestedGroup() {
+        execute(inParallel(task("a"), inSeries(failure("b"), task("c"))), task("d"));
+
+        assertFalse(success);
+        assertTrue(error instanceof FlowException);
+        assertFalse(calls.contains("c"));
+        assertFalse(calls.contains("d"));
+        assertEquals(1, progress.finished);
+    }
+
+    @SafeVarargs
+    private final void execute(Task<FlowContext>... tasks) {
+        PendingTask.active = 0;
+        PendingTask.max = 0;
+        Flow.series(context, tasks).subscribe(c -> success = true, throwable -> error = throwable);
+    }
+
+    private Task<FlowContext> task(String name) {
+        return context -> Completable.fromAction(() -> calls.add(name));
+    }
+
+    private Task<FlowContext> failure(String name) {
+        return context -> Completable.defer(() -> {
+            calls.add(name);
+            return Completable.error(new FlowException(name + " failed", context));
+        });
+    }
+
+
+    private static class PendingTask implements Task<FlowContext> {
+
+        static int active;
+        static int max;
+        private final PublishSubject<Void> subject = PublishSubject.create();
+
+        @Override
+        public Completable call(FlowContext context) {
+            return Completable.defer(() -> {
+                active++;
+                max = Math.max(max, active);
+                return subject.toCompletable().doOnCompleted(() -> active--);
+            });
+        }
+
+        void complete() {
+            subject.onCompleted();
+        }
+    }
+
+
+    private static class RecordingProgress implements Progress {
+
+        private int max = -1;
+        private int ticks;
+        private int finished;
+
+        @Override
+        public void reset() {
+            reset(0, null);
+        }
+
+        @Override
+        public void reset(int max, String label) {
+            this.max = max;
+            this.ticks = 0;
+        }
+
+        @Override
+        public void tick(String label) {
+            ticks++;
+        }
+
+        @Override
+        public void finish() {
+            finished++;
+        }
+    }
+}
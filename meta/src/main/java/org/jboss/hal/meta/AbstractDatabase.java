@@ -18,7 +18,9 @@ package org.jboss.hal.meta;
 import java.util.Map;
 import java.util.Set;
 
+import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import rx.Single;
 
@@ -26,15 +28,28 @@ import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 
-/** Abstract database which uses the specified statement context to resolve address templates. */
+/**
+ * Abstract database which uses the specified statement context to resolve address templates. New documents store
+ * their payload using {@link PayloadFormat#BINARY} unless specified otherwise. Documents without a payload format are
+ * read as {@link PayloadFormat#BASE64}.
+ * <p>
+ * New documents store the fingerprint of their subtree as defined by the {@linkplain #manifest() manifest}. Documents
+ * whose fingerprint doesn't match the current fingerprint are stale and treated as missing.
+ */
 public abstract class AbstractDatabase<T> implements Database<T> {
 
     private StatementContext statementContext;
     private final String type;
+    private final PayloadFormat payloadFormat;
 
     protected AbstractDatabase(StatementContext statementContext, String type) {
+        this(statementContext, type, PayloadFormat.BINARY);
+    }
+
+    protected AbstractDatabase(StatementContext statementContext, String type, PayloadFormat payloadFormat) {
         this.statementContext = statementContext;
         this.type = type;
+        this.payloadFormat = payloadFormat;
     }
 
     @Override
@@ -52,12 +67,16 @@ public abstract class AbstractDatabase<T> implements Database<T> {
         Set<String> ids = templates.stream()
                 .map(template -> template.resolve(statementContext).toString())
                 .collect(toSet());
+        return getDocuments(ids);
+    }
 
+    /** Returns a map with metadata for the specified document ids. Unknown ids are ignored. */
+    public Single<Map<ResourceAddress, T>> getDocuments(Set<String> ids) {
         return Single.create(em -> database().getAll(ids)
                 .then(documents -> {
-                    Map<ResourceAddress, T> metadata = documents.stream().collect(toMap(
-                            document -> ResourceAddress.from(document.getId()),
-                            this::asMetadata));
+                    Map<ResourceAddress, T> metadata = documents.stream()
+                            .filter(this::current)
+                            .collect(toMap(document -> ResourceAddress.from(document.getId()), this::asMetadata));
                     em.onSuccess(metadata);
                     return null;
                 })
@@ -72,9 +91,9 @@ public abstract class AbstractDatabase<T> implements Database<T> {
         String id = template.resolve(statementContext).toString();
         return Single.create(em -> database().prefixSearch(id)
                 .then(documents -> {
-                    Map<ResourceAddress, T> metadata = documents.stream().collect(toMap(
-                            document -> ResourceAddress.from(document.getId()),
-                            this::asMetadata));
+                    Map<ResourceAddress, T> metadata = documents.stream()
+                            .filter(this::current)
+                            .collect(toMap(document -> ResourceAddress.from(document.getId()), this::asMetadata));
                     em.onSuccess(metadata);
                     return null;
                 })
@@ -89,5 +108,38 @@ public abstract class AbstractDatabase<T> implements Database<T> {
         return type;
     }
 
+    /** Creates a new document for the specified address and metadata. */
+    protected Document newDocument(ResourceAddress address, ModelNode metadata) {
+        Document document = Document.of(address.toString());
+        writePayload(document, metadata);
+        document.set(FINGERPRINT, manifest().fingerprint(document.getId()));
+        return document;
+    }
+
+    private boolean current(Document document) {
+        return document.has(FINGERPRINT) &&
+                manifest().fingerprint(document.getId()).equals(document.getAny(FINGERPRINT).asString());
+    }
+
+    /** Reads the payload of the document according to its payload format. */
+    protected ModelNode readPayload(Document document) {
+        String payload = document.getAny(PAYLOAD).asString();
+        if (document.has(PAYLOAD_FORMAT) && PayloadFormat.BINARY.name().equals(
+                document.getAny(PAYLOAD_FORMAT).asString())) {
+            return ModelNode.fromBinaryString(payload);
+        }
+        return ModelNode.fromBase64(payload);
+    }
+
+    /** Writes the model node as payload to the document using the payload format of this database. */
+    protected void writePayload(Document document, ModelNode modelNode) {
+        if (payloadFormat == PayloadFormat.BINARY) {
+            document.set(PAYLOAD, modelNode.toBinaryString());
+        } else {
+            document.set(PAYLOAD, modelNode.toBase64String());
+        }
+        document.set(PAYLOAD_FORMAT, payloadFormat.name());
+    }
+
     protected abstract PouchDB database();
 }
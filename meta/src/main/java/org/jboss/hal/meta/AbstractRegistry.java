@@ -15,17 +15,70 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.function.LongSupplier;
+
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.jboss.hal.config.Settings.DEFAULT_METADATA_CACHE_SIZE;
+import static org.jboss.hal.config.Settings.Key.METADATA_CACHE_SIZE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
+
+/**
+ * Abstract registry which uses the specified statement context to resolve the address template. The entries are
+ * stored in an {@link AddressTrie} which is limited by the estimated bytes of the entries. The limit is read from
+ * the specified supplier whenever an entry is added, so that it can be changed at runtime.
+ */
+public abstract class AbstractRegistry<T extends ModelNode> implements Registry<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractRegistry.class);
+    private static final long MEGABYTE = 1_024 * 1_024;
 
-/** Abstract registry which uses the specified statement context to resolve the address template. */
-public abstract class AbstractRegistry<T> implements Registry<T> {
+    /**
+     * Returns the share of the metadata cache size as defined in {@link Settings.Key#METADATA_CACHE_SIZE}.
+     *
+     * @param settings the settings
+     * @param percent  the share in percent
+     *
+     * @return the maximum number of estimated bytes
+     */
+    protected static long maxBytes(Settings settings, int percent) {
+        int megabytes = settings.get(METADATA_CACHE_SIZE).asInt(DEFAULT_METADATA_CACHE_SIZE);
+        return Math.max(1, megabytes) * MEGABYTE * percent / 100;
+    }
 
     private final StatementContext statementContext;
+    private final LongSupplier maxBytes;
+    private final AddressTrie<T> trie;
     protected final String type;
 
-    protected AbstractRegistry(StatementContext statementContext, String type) {
+    protected AbstractRegistry(StatementContext statementContext, String type, LongSupplier maxBytes) {
         this.statementContext = statementContext;
         this.type = type;
+        this.maxBytes = maxBytes;
+        this.trie = new AddressTrie<>(maxBytes.getAsLong(), AddressTrie::estimateSize);
+        this.trie.onEviction(address -> logger.debug("Evict {} from {} registry", address, type));
+    }
+
+    /**
+     * Adds the entry to the registry. An address which has been added as part of a recursive operation stays recursive
+     * if it's added again by a non-recursive operation, as long as no entry below the address has been evicted.
+     */
+    public void add(ResourceAddress address, T entry, boolean recursive) {
+        long max = maxBytes.getAsLong();
+        if (max != trie.getMaxBytes()) {
+            logger.debug("Change size of {} registry from {} to {} bytes", type, trie.getMaxBytes(), max);
+            trie.setMaxBytes(max);
+        }
+        T existing = trie.peek(address);
+        boolean combined = recursive || (existing != null && existing.get(HAL_RECURSIVE).asBoolean(false)
+                && trie.containsSubtree(address));
+        entry.get(HAL_RECURSIVE).set(combined);
+        trie.put(address, entry);
+        logger.debug("Added {} to {} ({})", address.toString(), type, combined ? "recursive" : "none-recursive");
     }
 
     @Override
@@ -34,6 +87,16 @@ public abstract class AbstractRegistry<T> implements Registry<T> {
         return lookupAddress(address) != null;
     }
 
+    /**
+     * Checks whether the template has been added as part of a recursive operation and whether all entries below the
+     * template are still present.
+     */
+    public boolean containsRecursive(AddressTemplate template) {
+        ResourceAddress address = resolveTemplate(template);
+        T entry = lookupAddress(address);
+        return entry != null && entry.get(HAL_RECURSIVE).asBoolean(false) && trie.containsSubtree(address);
+    }
+
     @Override
     public T lookup(AddressTemplate template) throws MissingMetadataException {
         ResourceAddress address = resolveTemplate(template);
@@ -44,9 +107,33 @@ public abstract class AbstractRegistry<T> implements Registry<T> {
         return metadata;
     }
 
+    /**
+     * Removes the entries of the template and all entries below the template. Wildcards in the template match any
+     * value.
+     *
+     * @return the number of removed entries
+     */
+    public int invalidate(AddressTemplate template) {
+        int removed = trie.removeSubtree(resolveTemplate(template));
+        logger.debug("Removed {} entries below {} from {} registry", removed, template, type);
+        return removed;
+    }
+
+    /** @return the statistics of this registry */
+    public AddressTrie.Stats stats() {
+        return trie.stats();
+    }
+
+    /** @return the type of the entries */
+    public String getType() {
+        return type;
+    }
+
     protected ResourceAddress resolveTemplate(AddressTemplate template) {
         return template.resolve(statementContext);
     }
 
-    protected abstract T lookupAddress(ResourceAddress address);
+    protected T lookupAddress(ResourceAddress address) {
+        return trie.get(address);
+    }
 }
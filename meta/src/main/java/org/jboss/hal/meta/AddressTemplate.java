@@ -179,6 +179,10 @@ public final class AddressTemplate implements Iterable<String> {
     private final String template;
     private final LinkedList<Token> tokens;
     private final boolean optional;
+    private final boolean variables;
+    // resolved addresses: one for templates w/o variables, otherwise one per statement context class and generation
+    private ResourceAddress literal;
+    private Map<Class<?>, Resolved> resolved;
 
     /**
      * Creates a new instance from an encoded string template. '/' characters inside values must have been encoded using
@@ -192,6 +196,7 @@ public final class AddressTemplate implements Iterable<String> {
         this.tokens = parse(template);
         this.optional = template.startsWith(OPTIONAL);
         this.template = join(optional, tokens);
+        this.variables = tokens.stream().anyMatch(Token::hasVariable);
     }
 
     private LinkedList<Token> parse(String template) {
@@ -412,6 +417,10 @@ public final class AddressTemplate implements Iterable<String> {
 
     /**
      * Resolve this address template against the specified statement context.
+     * <p>
+     * If no wildcards are specified, the resolved address is cached. Templates without variables are resolved only
+     * once. Templates with variables are cached per statement context class and {@linkplain
+     * StatementContext#generation() generation}. The returned address is always a copy and can be modified.
      *
      * @param context   the statement context
      * @param wildcards An optional list of values which are used to resolve any wildcards in this address template from
@@ -422,31 +431,63 @@ public final class AddressTemplate implements Iterable<String> {
         if (isEmpty()) {
             return ResourceAddress.root();
         }
+        if (wildcards != null && wildcards.length > 0) {
+            return resolveTokens(context, wildcards);
+        }
+
+        ResourceAddress address;
+        if (!variables) {
+            if (literal == null) {
+                literal = resolveTokens(context);
+            }
+            address = literal;
+
+        } else {
+            long generation = context.generation();
+            if (generation == StatementContext.NO_GENERATION) {
+                return resolveTokens(context);
+            }
+            if (resolved == null) {
+                resolved = new HashMap<>();
+            }
+            Resolved entry = resolved.get(context.getClass());
+            if (entry == null || entry.generation != generation) {
+                entry = new Resolved(generation, resolveTokens(context));
+                resolved.put(context.getClass(), entry);
+            }
+            address = entry.address;
+        }
+        return new ResourceAddress(address);
+    }
+
+    /** Resolves this address template w/o using the cache. */
+    ResourceAddress resolveTokens(StatementContext context, String... wildcards) {
+        if (isEmpty()) {
+            return ResourceAddress.root();
+        }
 
         int wildcardCount = 0;
         ModelNode model = new ModelNode();
-        Memory<String[]> tupleMemory = new Memory<>();
-        Memory<String> valueMemory = new Memory<>();
+        Memory<String[]> tupleMemory = variables ? new Memory<>() : null;
+        Memory<String> valueMemory = variables ? new Memory<>() : null;
 
         for (Token token : tokens) {
             if (!token.hasKey()) {
                 // a single token, something like "{foo}" of "bar"
-                String value = token.getValue();
                 String[] resolvedValue;
 
-                if (value.startsWith("{")) {
-                    String variable = value.substring(1, value.length() - 1);
-                    value = variable;
+                if (token.valueVariable != null) {
+                    String variable = token.valueVariable;
                     if (!tupleMemory.contains(variable)) {
                         String[] resolvedTuple = context.resolveTuple(variable, this);
                         if (resolvedTuple != null) {
                             tupleMemory.memorize(variable, singletonList(resolvedTuple));
                         }
                     }
-                    resolvedValue = tupleMemory.next(value);
+                    resolvedValue = tupleMemory.next(variable);
                 } else {
-                    assert value.contains(EQUALS) : "Invalid token expression " + value;
-                    resolvedValue = value.split(EQUALS);
+                    assert token.getValue().contains(EQUALS) : "Invalid token expression " + token.getValue();
+                    resolvedValue = token.getValue().split(EQUALS);
                 }
 
                 if (resolvedValue != null) {
@@ -455,46 +496,44 @@ public final class AddressTemplate implements Iterable<String> {
 
             } else {
                 // a key/value token, something like "foo=bar", "foo=*", "{foo}=bar" or "foo={bar}"
-                String keyRef = token.getKey();
-                String valueRef = token.getValue();
-
-                String resolvedKey = resolveSome(context, valueMemory, keyRef);
-                String resolvedValue = resolveSome(context, valueMemory, valueRef);
-
+                String resolvedKey = token.keyVariable != null
+                        ? resolveVariable(context, valueMemory, token.keyVariable)
+                        : token.getKey();
                 if (resolvedKey == null) {
                     resolvedKey = BLANK;
                 }
+
+                String resolvedValue = token.valueVariable != null
+                        ? resolveVariable(context, valueMemory, token.valueVariable)
+                        : token.getValue();
                 if (resolvedValue == null) {
                     resolvedValue = BLANK;
                 }
 
                 // wildcards
-                String addressValue = resolvedValue;
-                if ("*".equals(
-                        resolvedValue) && wildcards != null && wildcards.length > 0 && wildcardCount < wildcards.length) {
-                    addressValue = wildcards[wildcardCount];
+                String addressValue;
+                if ("*".equals(resolvedValue) && wildcards != null && wildcardCount < wildcards.length) {
+                    addressValue = ModelNodeHelper.decodeValue(wildcards[wildcardCount]);
                     wildcardCount++;
+                } else if (token.valueVariable == null) {
+                    addressValue = token.decodedValue;
+                } else {
+                    addressValue = ModelNodeHelper.decodeValue(resolvedValue);
                 }
-                model.add(resolvedKey, ModelNodeHelper.decodeValue(addressValue));
+                model.add(resolvedKey, addressValue);
             }
         }
         return new ResourceAddress(model);
     }
 
-    private String resolveSome(StatementContext context, Memory<String> memory, String input) {
-        String resolved;
-        if (input.startsWith("{")) {
-            input = input.substring(1, input.length() - 1);
-            if (!memory.contains(input)) {
-                if (context.resolve(input, this) != null) {
-                    memory.memorize(input, Lists.newArrayList(context.resolve(input, this)));
-                }
+    private String resolveVariable(StatementContext context, Memory<String> memory, String variable) {
+        if (!memory.contains(variable)) {
+            String resolved = context.resolve(variable, this);
+            if (resolved != null) {
+                memory.memorize(variable, Lists.newArrayList(resolved));
             }
-            resolved = memory.next(input);
-        } else {
-            resolved = input;
         }
-        return resolved;
+        return memory.next(variable);
     }
 
 
@@ -607,25 +646,55 @@ public final class AddressTemplate implements Iterable<String> {
     }
 
 
+    private static class Resolved {
+
+        final long generation;
+        final ResourceAddress address;
+
+        Resolved(long generation, ResourceAddress address) {
+            this.generation = generation;
+            this.address = address;
+        }
+    }
+
+
+    /** Segment of an address template. Variables and literal values are pre-compiled when the token is created. */
     private static class Token {
 
         final String key;
         final String value;
+        final String keyVariable;
+        final String valueVariable;
+        final String decodedValue;
 
         Token(String key, String value) {
             this.key = key;
             this.value = value;
+            this.keyVariable = variable(key);
+            this.valueVariable = variable(value);
+            this.decodedValue = valueVariable == null ? ModelNodeHelper.decodeValue(value) : null;
         }
 
         Token(String value) {
             this.key = null;
             this.value = value;
+            this.keyVariable = null;
+            this.valueVariable = variable(value);
+            this.decodedValue = null;
+        }
+
+        private static String variable(String value) {
+            return value.startsWith("{") ? value.substring(1, value.length() - 1) : null;
         }
 
         boolean hasKey() {
             return key != null;
         }
 
+        boolean hasVariable() {
+            return keyVariable != null || valueVariable != null;
+        }
+
         String getKey() {
             return key;
         }
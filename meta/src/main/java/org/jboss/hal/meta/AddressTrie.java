@@ -0,0 +1,452 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+
+/**
+ * A trie which stores values by the segments of their resource addresses. Besides exact lookups the trie supports
+ * wildcard matching, subtree presence queries and subtree removal.
+ * <p>
+ * The size of the trie is limited by the estimated bytes of its values. If the limit is exceeded, the least recently
+ * used values are evicted. The trie records the hits and misses of {@link #get(ResourceAddress)}, the number of
+ * evictions and the number of reloads, i.e. values which are stored again shortly after they've been evicted.
+ *
+ * @param <T> the type of the values
+ */
+public class AddressTrie<T> {
+
+    private static final String WILDCARD = "*";
+
+    /** Number of recently evicted addresses which are remembered to detect reloads. */
+    private static final int RECENTLY_EVICTED = 100;
+
+    private final ToLongFunction<T> sizeFunction;
+    private final Node<T> root;
+    private final LinkedHashMap<Node<T>, Boolean> lru;
+    private final LinkedHashMap<String, Boolean> recentlyEvicted;
+    private long maxBytes;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long reloads;
+    private Consumer<ResourceAddress> evictionListener;
+
+    /**
+     * @param maxBytes     the maximum number of estimated bytes
+     * @param sizeFunction the function which estimates the bytes of a value
+     */
+    public AddressTrie(long maxBytes, ToLongFunction<T> sizeFunction) {
+        this.maxBytes = maxBytes;
+        this.sizeFunction = sizeFunction;
+        this.root = new Node<>(null, null, null);
+        this.lru = new LinkedHashMap<>(16, 0.75f, true);
+        this.recentlyEvicted = new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > RECENTLY_EVICTED;
+            }
+        };
+        this.bytes = 0;
+    }
+
+    /** Sets a listener which is called with the address of each evicted value. */
+    public void onEviction(Consumer<ResourceAddress> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+
+    // ------------------------------------------------------ modify
+
+    /** Stores the value under the specified address and evicts values if necessary. */
+    public void put(ResourceAddress address, T value) {
+        Node<T> node = root;
+        for (Property segment : address.asPropertyList()) {
+            node = node.child(segment.getName(), segment.getValue().asString(), true);
+        }
+        if (node.value != null) {
+            bytes -= node.bytes;
+        } else if (!recentlyEvicted.isEmpty() && recentlyEvicted.remove(address.toString()) != null) {
+            reloads++;
+        }
+        node.value = value;
+        node.bytes = sizeFunction.applyAsLong(value);
+        node.truncated = false;
+        bytes += node.bytes;
+        lru.put(node, Boolean.TRUE);
+        evict(node);
+    }
+
+    /**
+     * Removes the values of all subtrees matching the specified address. Use {@code *} as value to match any value.
+     *
+     * @return the number of removed values
+     */
+    public int removeSubtree(ResourceAddress address) {
+        int removed = 0;
+        for (Node<T> node : nodes(address)) {
+            List<Node<T>> subtree = new ArrayList<>();
+            node.collect(subtree);
+            for (Node<T> n : subtree) {
+                if (n.value != null) {
+                    removeValue(n);
+                    removed++;
+                }
+            }
+            node.truncateAncestors();
+            node.detach();
+        }
+        return removed;
+    }
+
+    public void clear() {
+        root.children.clear();
+        lru.clear();
+        recentlyEvicted.clear();
+        bytes = 0;
+    }
+
+    /** Changes the maximum number of bytes and evicts values if necessary. */
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evict(null);
+    }
+
+    private void evict(Node<T> keep) {
+        Iterator<Node<T>> iterator = lru.keySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Node<T> eldest = iterator.next();
+            if (eldest == keep) {
+                continue;
+            }
+            iterator.remove();
+            bytes -= eldest.bytes;
+            eldest.value = null;
+            eldest.bytes = 0;
+            eldest.truncateAncestors();
+            evictions++;
+            ResourceAddress address = eldest.address();
+            recentlyEvicted.put(address.toString(), Boolean.TRUE);
+            if (evictionListener != null) {
+                evictionListener.accept(address);
+            }
+            eldest.prune();
+        }
+    }
+
+    private void removeValue(Node<T> node) {
+        lru.remove(node);
+        bytes -= node.bytes;
+        node.value = null;
+        node.bytes = 0;
+    }
+
+
+    // ------------------------------------------------------ query
+
+    /** @return the value stored under the exact address or {@code null} */
+    public T get(ResourceAddress address) {
+        Node<T> node = find(address);
+        if (node == null || node.value == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        lru.get(node); // touch
+        return node.value;
+    }
+
+    /** Same as {@link #get(ResourceAddress)}, but neither records a hit or miss nor touches the value. */
+    public T peek(ResourceAddress address) {
+        Node<T> node = find(address);
+        return node != null ? node.value : null;
+    }
+
+    /** @return the values of all addresses matching the specified address. Use {@code *} to match any value. */
+    public List<T> match(ResourceAddress address) {
+        List<T> values = new ArrayList<>();
+        for (Node<T> node : nodes(address)) {
+            if (node.value != null) {
+                values.add(node.value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Checks whether the specified address has a value and whether the subtree of the address is complete, i.e. no
+     * value below the address has been evicted or removed since the value of the address was stored.
+     */
+    public boolean containsSubtree(ResourceAddress address) {
+        Node<T> node = find(address);
+        return node != null && node.value != null && !node.truncated;
+    }
+
+    /** @return the number of values */
+    public int size() {
+        return lru.size();
+    }
+
+    /** @return the estimated bytes of all values */
+    public long bytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /** @return a snapshot of the statistics of this trie */
+    public Stats stats() {
+        return new Stats(size(), bytes, maxBytes, hits, misses, evictions, reloads);
+    }
+
+    private Node<T> find(ResourceAddress address) {
+        Node<T> node = root;
+        for (Property segment : address.asPropertyList()) {
+            node = node.child(segment.getName(), segment.getValue().asString(), false);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private List<Node<T>> nodes(ResourceAddress address) {
+        List<Node<T>> nodes = new ArrayList<>();
+        nodes.add(root);
+        for (Property segment : address.asPropertyList()) {
+            String name = segment.getName();
+            String value = segment.getValue().asString();
+            List<Node<T>> next = new ArrayList<>();
+            for (Node<T> node : nodes) {
+                if (WILDCARD.equals(value)) {
+                    Map<String, Node<T>> values = node.children.get(name);
+                    if (values != null) {
+                        next.addAll(values.values());
+                    }
+                } else {
+                    Node<T> child = node.child(name, value, false);
+                    if (child != null) {
+                        next.add(child);
+                    }
+                }
+            }
+            nodes = next;
+        }
+        return nodes;
+    }
+
+
+    // ------------------------------------------------------ size
+
+    /** Estimates the size of a model node in bytes. */
+    public static long estimateSize(ModelNode node) {
+        switch (node.getType()) {
+            case OBJECT:
+                long objectSize = 0;
+                for (String key : node.keys()) {
+                    objectSize += key.length() + estimateSize(node.get(key));
+                }
+                return objectSize;
+            case LIST:
+                long listSize = 0;
+                for (ModelNode element : node.asList()) {
+                    listSize += estimateSize(element);
+                }
+                return listSize;
+            case PROPERTY:
+                Property property = node.asProperty();
+                return property.getName().length() + estimateSize(property.getValue());
+            case STRING:
+            case EXPRESSION:
+                return node.asString().length();
+            case UNDEFINED:
+                return 1;
+            default:
+                return 8;
+        }
+    }
+
+
+    // ------------------------------------------------------ inner classes
+
+    /** Statistics of an address trie. */
+    public static class Stats {
+
+        private final int size;
+        private final long bytes;
+        private final long maxBytes;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long reloads;
+
+        Stats(int size, long bytes, long maxBytes, long hits, long misses, long evictions, long reloads) {
+            this.size = size;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.reloads = reloads;
+        }
+
+        @Override
+        public String toString() {
+            return size + " entries, " + bytes + " of " + maxBytes + " bytes, hit rate " +
+                    Math.round(getHitRate() * 100) + "%, " + evictions + " evictions, " + reloads + " reloads";
+        }
+
+        /** @return the number of values */
+        public int getSize() {
+            return size;
+        }
+
+        /** @return the estimated bytes of all values */
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /** @return the ratio of hits to all lookups in [0, 1] */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** @return the number of values which have been stored again shortly after they've been evicted */
+        public long getReloads() {
+            return reloads;
+        }
+    }
+
+
+    private static class Node<T> {
+
+        private final Node<T> parent;
+        private final String segmentName;
+        private final String segmentValue;
+        // segment name -> segment value -> node
+        private final Map<String, Map<String, Node<T>>> children;
+        private T value;
+        private long bytes;
+        // whether a value below this node has been evicted or removed after the value of this node was stored
+        private boolean truncated;
+
+        private Node(Node<T> parent, String segmentName, String segmentValue) {
+            this.parent = parent;
+            this.segmentName = segmentName;
+            this.segmentValue = segmentValue;
+            this.children = new HashMap<>();
+        }
+
+        private Node<T> child(String name, String value, boolean create) {
+            Map<String, Node<T>> values = children.get(name);
+            if (values == null) {
+                if (!create) {
+                    return null;
+                }
+                values = new HashMap<>();
+                children.put(name, values);
+            }
+            Node<T> child = values.get(value);
+            if (child == null && create) {
+                child = new Node<>(this, name, value);
+                values.put(value, child);
+            }
+            return child;
+        }
+
+        /** Adds this node and all descendants to the list. */
+        private void collect(List<Node<T>> nodes) {
+            nodes.add(this);
+            for (Map<String, Node<T>> values : children.values()) {
+                for (Node<T> child : values.values()) {
+                    child.collect(nodes);
+                }
+            }
+        }
+
+        private void truncateAncestors() {
+            for (Node<T> node = parent; node != null; node = node.parent) {
+                node.truncated = true;
+            }
+        }
+
+        /** Removes this node from its parent. */
+        private void detach() {
+            if (parent != null) {
+                Map<String, Node<T>> values = parent.children.get(segmentName);
+                if (values != null) {
+                    values.remove(segmentValue);
+                    if (values.isEmpty()) {
+                        parent.children.remove(segmentName);
+                    }
+                }
+                parent.prune();
+            } else {
+                children.clear();
+            }
+        }
+
+        /** Removes this node and its empty ancestors if they have neither a value nor children. */
+        private void prune() {
+            if (parent != null && value == null && children.isEmpty()) {
+                detach();
+            }
+        }
+
+        private ResourceAddress address() {
+            List<Node<T>> path = new ArrayList<>();
+            for (Node<T> node = this; node.parent != null; node = node.parent) {
+                path.add(0, node);
+            }
+            ResourceAddress address = new ResourceAddress();
+            for (Node<T> node : path) {
+                address.add(node.segmentName, node.segmentValue);
+            }
+            return address;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Version;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBSYSTEM;
+
+/**
+ * Fingerprints of the subtrees of the management model. Used to version the documents stored in the metadata
+ * databases, so that only the documents of changed subtrees need to be read again after a server update.
+ * <p>
+ * Addresses which contain a subsystem segment belong to the subtree of that subsystem. Its fingerprint is the
+ * management version of the subsystem. All other addresses belong to the {@linkplain #CORE core} subtree. Its
+ * fingerprint is the management model version, which is also used for subsystems of unknown version.
+ * <p>
+ * The web worker {@code js/worker.js} uses the same rules to prune stale documents.
+ */
+public class CacheManifest {
+
+    /** The subtree of all addresses which don't contain a subsystem segment. */
+    public static final String CORE = "core";
+    private static final String SUBSYSTEM_SEGMENT = "/" + SUBSYSTEM + "=";
+
+    public static CacheManifest of(Environment environment) {
+        return new CacheManifest(environment.getManagementVersion(), environment.getSubsystemVersions());
+    }
+
+    /**
+     * Returns the subtree of the specified document id.
+     *
+     * @param id the document id (i.e. the resource address as string)
+     *
+     * @return {@code subsystem=<name>} or {@link #CORE}
+     */
+    public static String subtree(String id) {
+        int index = id.indexOf(SUBSYSTEM_SEGMENT);
+        if (index == -1) {
+            return CORE;
+        }
+        int end = id.indexOf('/', index + SUBSYSTEM_SEGMENT.length());
+        return end == -1 ? id.substring(index + 1) : id.substring(index + 1, end);
+    }
+
+    private final Map<String, String> fingerprints;
+
+    CacheManifest(Version managementVersion, Map<String, Version> subsystemVersions) {
+        this.fingerprints = new TreeMap<>();
+        this.fingerprints.put(CORE, managementVersion.toString());
+        subsystemVersions.forEach((name, version) -> fingerprints.put(SUBSYSTEM + "=" + name, version.toString()));
+    }
+
+    /** @return the current fingerprint of the subtree the specified document id belongs to */
+    public String fingerprint(String id) {
+        String fingerprint = fingerprints.get(subtree(id));
+        return fingerprint != null ? fingerprint : fingerprints.get(CORE);
+    }
+
+    /** @return the fingerprints by subtree including {@link #CORE} */
+    public Map<String, String> fingerprints() {
+        return Collections.unmodifiableMap(fingerprints);
+    }
+}
@@ -25,6 +25,8 @@ import rx.Single;
 public interface Database<T> {
 
     String PAYLOAD = "payload";
+    String PAYLOAD_FORMAT = "payload-format";
+    String FINGERPRINT = "fingerprint";
 
     /** Turns a template into a resource addresses for later lookup. */
     ResourceAddress resolveTemplate(AddressTemplate template);
@@ -49,4 +51,18 @@ public interface Database<T> {
 
     /** The databas name */
     String name();
+
+    /** The manifest which versions the documents of this database. */
+    CacheManifest manifest();
+
+
+    /** The format of the DMR payload stored in a document. */
+    enum PayloadFormat {
+
+        /** The payload is stored using {@link org.jboss.hal.dmr.ModelNode#toBase64String()}. */
+        BASE64,
+
+        /** The payload is stored using {@link org.jboss.hal.dmr.ModelNode#toBinaryString()}. */
+        BINARY
+    }
 }
@@ -20,6 +20,7 @@ import com.google.inject.Singleton;
 import org.jboss.hal.meta.capabilitiy.Capabilities;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
 import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.processing.MetadataPrefetcher;
 import org.jboss.hal.meta.processing.MetadataProcessor;
 import org.jboss.hal.meta.processing.WorkerChannel;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
@@ -32,6 +33,7 @@ public class MetaModule extends AbstractGinModule {
     @Override
     protected void configure() {
         bind(Capabilities.class).in(Singleton.class);
+        bind(MetadataPrefetcher.class).in(Singleton.class);
         bind(MetadataProcessor.class).in(Singleton.class);
         bind(MetadataRegistry.class).in(Singleton.class);
         bind(ResourceDescriptionDatabase.class).in(Singleton.class);
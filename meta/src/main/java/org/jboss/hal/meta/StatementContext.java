@@ -118,6 +118,15 @@ public interface StatementContext {
     };
 
 
+    /** Generation of statement contexts whose resolved addresses must not be cached. */
+    @JsIgnore long NO_GENERATION = -1;
+
+    /** @return a new generation which is unique across all statement contexts */
+    @JsIgnore
+    static long nextGeneration() {
+        return Generations.next();
+    }
+
     /** Resolves a single value. */
     @JsIgnore
     String resolve(String placeholder, AddressTemplate template);
@@ -126,6 +135,17 @@ public interface StatementContext {
     @JsIgnore
     String[] resolveTuple(String placeholder, AddressTemplate template);
 
+    /**
+     * Returns the generation of this statement context. The generation has to change whenever a value which is used to
+     * resolve address templates changes. Address templates cache resolved addresses per statement context class and
+     * generation. Use {@link #nextGeneration()} to get a new generation or return {@link #NO_GENERATION} if the
+     * resolved addresses must not be cached.
+     */
+    @JsIgnore
+    default long generation() {
+        return NO_GENERATION;
+    }
+
     /** @return the domain controller */
     @JsProperty(name = "domainController")
     String domainController();
@@ -21,9 +21,9 @@ import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
-import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractDatabase;
+import org.jboss.hal.meta.CacheManifest;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
 
@@ -33,6 +33,7 @@ public class ResourceDescriptionDatabase extends AbstractDatabase<ResourceDescri
 
     private final Environment environment;
     private final Settings settings;
+    private CacheManifest manifest;
     private PouchDB database;
 
     @Inject
@@ -46,20 +47,25 @@ public class ResourceDescriptionDatabase extends AbstractDatabase<ResourceDescri
     public String name() {
         return Ids.build("hal-db-rd",
                 environment.getHalBuild().name(),
-                settings.get(Settings.Key.LOCALE).value(),
-                environment.getManagementVersion().toString());
+                settings.get(Settings.Key.LOCALE).value());
     }
 
     @Override
     public ResourceDescription asMetadata(Document document) {
-        return new ResourceDescription(ModelNode.fromBase64(document.getAny(PAYLOAD).asString()));
+        return new ResourceDescription(readPayload(document));
     }
 
     @Override
     public Document asDocument(ResourceAddress address, ResourceDescription resourceDescription) {
-        Document document = Document.of(address.toString());
-        document.set(PAYLOAD, resourceDescription.toBase64String());
-        return document;
+        return newDocument(address, resourceDescription);
+    }
+
+    @Override
+    public CacheManifest manifest() {
+        if (manifest == null) {
+            manifest = CacheManifest.of(environment);
+        }
+        return manifest;
     }
 
     @Override
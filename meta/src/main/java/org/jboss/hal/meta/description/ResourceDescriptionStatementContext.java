@@ -24,6 +24,8 @@ import static org.jboss.hal.meta.SelectionAwareStatementContext.SELECTION_KEY;
 
 public class ResourceDescriptionStatementContext extends FilteringStatementContext {
 
+    private final StatementContext delegate;
+
     public ResourceDescriptionStatementContext(StatementContext delegate, Environment environment) {
         super(delegate, new Filter() {
             @Override
@@ -48,5 +50,12 @@ public class ResourceDescriptionStatementContext extends FilteringStatementConte
                 return delegate.resolveTuple(placeholder, template);
             }
         });
+        this.delegate = delegate;
+    }
+
+    /** The filter depends on the environment only, so the generation of the delegate applies. */
+    @Override
+    public long generation() {
+        return delegate.generation();
     }
 }
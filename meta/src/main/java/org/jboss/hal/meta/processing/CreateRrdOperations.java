@@ -16,14 +16,19 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.meta.description.ResourceDescriptionStatementContext;
 import org.jboss.hal.meta.security.SecurityContextStatementContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.meta.processing.LookupResult.ALL_PRESENT;
@@ -31,8 +36,18 @@ import static org.jboss.hal.meta.processing.LookupResult.NOTHING_PRESENT;
 import static org.jboss.hal.meta.processing.LookupResult.RESOURCE_DESCRIPTION_PRESENT;
 import static org.jboss.hal.meta.processing.LookupResult.SECURITY_CONTEXT_PRESENT;
 
+/**
+ * Creates the {@code read-resource-description} operations for the missing metadata. Non-recursive, non-optional
+ * templates which belong to a {@linkplain LookupContext#bundles bundle} are read by one operation at the parent of the
+ * bundle, if at least {@link #MIN_MISSING} templates of the bundle are missing.
+ */
 class CreateRrdOperations {
 
+    /** Minimum number of templates of a bundle with missing metadata to read the bundle at its parent. */
+    static final int MIN_MISSING = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(CreateRrdOperations.class);
+
     private final SecurityContextStatementContext securityContextStatementContext;
     private final ResourceDescriptionStatementContext resourceDescriptionStatementContext;
     private final int depth;
@@ -49,33 +64,41 @@ class CreateRrdOperations {
     public List<Operation> create(LookupContext context, boolean recursive, boolean optional) {
         LookupResult lookupResult = context.lookupResult;
         List<Operation> operations = new ArrayList<>();
+        Set<AddressTemplate> bundled = new HashSet<>();
+
+        if (!recursive && !optional) {
+            context.bundles.forEach((parent, children) -> {
+                int missingMetadata = ALL_PRESENT;
+                List<AddressTemplate> missing = new ArrayList<>();
+                for (AddressTemplate child : children) {
+                    if (lookupResult.templates().contains(child) && !child.isOptional()) {
+                        int childMetadata = lookupResult.missingMetadata(child);
+                        if (childMetadata != ALL_PRESENT) {
+                            missingMetadata &= childMetadata;
+                            missing.add(child);
+                        }
+                    }
+                }
+                if (missing.size() >= MIN_MISSING) {
+                    Operation.Builder builder = builder(parent, missingMetadata);
+                    if (builder != null) {
+                        logger.debug("Read {} templates as bundle at {}", missing.size(), parent);
+                        builder.param(RECURSIVE_DEPTH, 1);
+                        builder.param(LOCALE, locale);
+                        operations.add(builder.build());
+                        bundled.addAll(missing);
+                    }
+                }
+            });
+        }
+
         lookupResult.templates().stream()
                 .filter(template -> optional == template.isOptional())
+                .filter(template -> !bundled.contains(template))
                 .forEach(template -> {
                     int missingMetadata = lookupResult.missingMetadata(template);
                     if (missingMetadata != ALL_PRESENT) {
-
-                        ResourceAddress address;
-                        Operation.Builder builder = null;
-
-                        if (missingMetadata == NOTHING_PRESENT) {
-                            address = template.resolve(securityContextStatementContext);
-                            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
-                                    .param(ACCESS_CONTROL, COMBINED_DESCRIPTIONS)
-                                    .param(OPERATIONS, true);
-
-                        } else if (missingMetadata == RESOURCE_DESCRIPTION_PRESENT) {
-                            address = template.resolve(securityContextStatementContext);
-                            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
-                                    .param(ACCESS_CONTROL, TRIM_DESCRIPTIONS)
-                                    .param(OPERATIONS, true);
-
-                        } else if (missingMetadata == SECURITY_CONTEXT_PRESENT) {
-                            address = template.resolve(resourceDescriptionStatementContext);
-                            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
-                                    .param(OPERATIONS, true);
-                        }
-
+                        Operation.Builder builder = builder(template, missingMetadata);
                         if (builder != null) {
                             if (recursive) {
                                 builder.param(RECURSIVE_DEPTH, depth);
@@ -87,4 +110,28 @@ class CreateRrdOperations {
                 });
         return operations;
     }
+
+    private Operation.Builder builder(AddressTemplate template, int missingMetadata) {
+        ResourceAddress address;
+        Operation.Builder builder = null;
+
+        if (missingMetadata == NOTHING_PRESENT) {
+            address = template.resolve(securityContextStatementContext);
+            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
+                    .param(ACCESS_CONTROL, COMBINED_DESCRIPTIONS)
+                    .param(OPERATIONS, true);
+
+        } else if (missingMetadata == RESOURCE_DESCRIPTION_PRESENT) {
+            address = template.resolve(securityContextStatementContext);
+            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
+                    .param(ACCESS_CONTROL, TRIM_DESCRIPTIONS)
+                    .param(OPERATIONS, true);
+
+        } else if (missingMetadata == SECURITY_CONTEXT_PRESENT) {
+            address = template.resolve(resourceDescriptionStatementContext);
+            builder = new Operation.Builder(address, READ_RESOURCE_DESCRIPTION_OPERATION)
+                    .param(OPERATIONS, true);
+        }
+        return builder;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.meta.processing;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +31,7 @@ class LookupContext extends FlowContext {
 
     final boolean recursive;
     final LookupResult lookupResult;
+    final Map<AddressTemplate, Set<AddressTemplate>> bundles;
     final Map<ResourceAddress, ResourceDescription> toResourceDescriptionRegistry;
     final Map<ResourceAddress, ResourceDescription> toResourceDescriptionDatabase;
     final Map<ResourceAddress, SecurityContext> toSecurityContextRegistry;
@@ -37,19 +39,27 @@ class LookupContext extends FlowContext {
 
     // for unit testing only!
     LookupContext(LookupResult lookupResult) {
+        this(lookupResult, Collections.emptyMap());
+    }
+
+    // for unit testing only!
+    LookupContext(LookupResult lookupResult, Map<AddressTemplate, Set<AddressTemplate>> bundles) {
         super(Progress.NOOP);
         this.recursive = false;
         this.lookupResult = lookupResult;
+        this.bundles = bundles;
         this.toResourceDescriptionRegistry = new HashMap<>();
         this.toResourceDescriptionDatabase = new HashMap<>();
         this.toSecurityContextRegistry = new HashMap<>();
         this.toSecurityContextDatabase = new HashMap<>();
     }
 
-    LookupContext(Progress progress, Set<AddressTemplate> template, boolean recursive) {
+    LookupContext(Progress progress, Set<AddressTemplate> template, boolean recursive,
+            Map<AddressTemplate, Set<AddressTemplate>> bundles) {
         super(progress);
         this.recursive = recursive;
         this.lookupResult = new LookupResult(template);
+        this.bundles = bundles;
         this.toResourceDescriptionRegistry = new HashMap<>();
         this.toResourceDescriptionDatabase = new HashMap<>();
         this.toSecurityContextRegistry = new HashMap<>();
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import org.jboss.hal.flow.Progress;
+import org.jboss.hal.meta.resource.RequiredResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.jboss.hal.meta.SelectionAwareStatementContext.SELECTION_EXPRESSION;
+
+/**
+ * Loads the metadata of columns and places which are likely to be visited next, while the browser is idle. Callers
+ * pass the ids of columns and name tokens which are reachable from the current location. Only ids with required
+ * resources are prefetched. Ids whose metadata is already in the registries are skipped, so metadata which has been
+ * evicted from the registries is prefetched again. Each call replaces the pending ids of the previous call and is
+ * bounded by {@link #BUDGET}.
+ * <p>
+ * Ids with required resources which depend on the current selection ({@code {selected.host}}, {@code {selection}}
+ * etc.) are skipped, since the selection might change before the column or place is revealed.
+ */
+public class MetadataPrefetcher {
+
+    /** Maximum number of ids prefetched per call. */
+    static final int BUDGET = 5;
+
+    /** Upper bound in ms to wait for an idle period. */
+    private static final int IDLE_TIMEOUT = 2_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataPrefetcher.class);
+
+    private final MetadataProcessor metadataProcessor;
+    private final RequiredResources requiredResources;
+    private final Queue<String> queue;
+    private String current;
+    private boolean running;
+
+    @Inject
+    public MetadataPrefetcher(MetadataProcessor metadataProcessor, RequiredResources requiredResources) {
+        this.metadataProcessor = metadataProcessor;
+        this.requiredResources = requiredResources;
+        this.queue = new LinkedList<>();
+        this.running = false;
+    }
+
+    /** Schedules the prefetching of the specified column ids and name tokens. */
+    public void prefetch(Collection<String> ids) {
+        queue.clear();
+        for (String id : ids) {
+            if (queue.size() >= BUDGET) {
+                break;
+            }
+            if (id != null && !id.equals(current) && !queue.contains(id) && prefetchable(id) &&
+                    !metadataProcessor.present(id)) {
+                queue.add(id);
+            }
+        }
+        if (!queue.isEmpty() && !running) {
+            logger.debug("Schedule metadata prefetching for {}", queue);
+            next();
+        }
+    }
+
+    private boolean prefetchable(String id) {
+        Set<String> resources = requiredResources.getResources(id);
+        return !resources.isEmpty() && resources.stream().noneMatch(resource -> resource.contains("{selected.") ||
+                resource.contains(SELECTION_EXPRESSION));
+    }
+
+    private void next() {
+        current = null;
+        if (queue.isEmpty()) {
+            running = false;
+            return;
+        }
+        running = true;
+        onIdle(IDLE_TIMEOUT, () -> {
+            String id = queue.poll();
+            if (id == null) {
+                running = false;
+                return;
+            }
+            current = id;
+            metadataProcessor.process(id, Progress.NOOP, new AsyncCallback<Void>() {
+                @Override
+                public void onFailure(Throwable throwable) {
+                    logger.debug("Unable to prefetch metadata for '{}': {}", id, throwable.getMessage());
+                    next();
+                }
+
+                @Override
+                public void onSuccess(Void aVoid) {
+                    logger.debug("Prefetched metadata for '{}'", id);
+                    next();
+                }
+            });
+        });
+    }
+
+    /** Runs the callback when the browser is idle or after the timeout. Falls back to a timeout if not supported. */
+    private static native void onIdle(int timeout, Runnable callback) /*-{
+        var run = $entry(function () {
+            callback.@java.lang.Runnable::run()();
+        });
+        if (typeof $wnd.requestIdleCallback === "function") {
+            $wnd.requestIdleCallback(run, {timeout: timeout});
+        } else {
+            $wnd.setTimeout(run, 50);
+        }
+    }-*/;
+}
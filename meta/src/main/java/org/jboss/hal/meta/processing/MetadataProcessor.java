@@ -16,7 +16,9 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -47,6 +49,7 @@ import org.jboss.hal.spi.EsParam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toSet;
@@ -59,11 +62,8 @@ import static org.jboss.hal.flow.Flow.series;
 @JsType(namespace = "hal.meta")
 public class MetadataProcessor {
 
-    /** Recursive depth for the r-r-d operations. Keep this small - some browsers choke on too big payload size */
-    static final int RRD_DEPTH = 3;
-
-    /** Number of r-r-d operations part of one composite operation. */
-    private static final int BATCH_SIZE = 3;
+    /** Minimal recursive depth for the r-r-d operations. The actual depth is adapted by {@link RrdBatchSize}. */
+    static final int RRD_DEPTH = RrdBatchSize.MIN_DEPTH;
 
     private static final Logger logger = LoggerFactory.getLogger(MetadataProcessor.class);
 
@@ -78,6 +78,7 @@ public class MetadataProcessor {
     private final SecurityContextRegistry securityContextRegistry;
     private final Settings settings;
     private final WorkerChannel workerChannel;
+    private final RrdBatchSize batchSize;
 
     @Inject
     @JsIgnore
@@ -103,6 +104,7 @@ public class MetadataProcessor {
         this.resourceDescriptionRegistry = resourceDescriptionRegistry;
         this.settings = settings;
         this.workerChannel = workerChannel;
+        this.batchSize = new RrdBatchSize();
     }
 
     @JsIgnore
@@ -116,14 +118,26 @@ public class MetadataProcessor {
 
         } else {
             Set<AddressTemplate> templates = resources.stream().map(AddressTemplate::of).collect(toSet());
-            processInternal(templates, recursive, progress, callback);
+            Map<AddressTemplate, Set<AddressTemplate>> bundles = new HashMap<>();
+            requiredResources.getBundles(id).forEach((parent, children) -> bundles.put(AddressTemplate.of(parent),
+                    children.stream().map(AddressTemplate::of).collect(toSet())));
+            processInternal(templates, recursive, bundles, progress, callback);
         }
     }
 
+    /** @return whether the metadata of the required resources of the specified id are in the registries */
+    boolean present(String id) {
+        Set<AddressTemplate> templates = requiredResources.getResources(id).stream()
+                .map(AddressTemplate::of)
+                .collect(toSet());
+        return new LookupRegistryTask(resourceDescriptionRegistry, securityContextRegistry)
+                .allPresent(templates, requiredResources.isRecursive(id));
+    }
+
     @JsIgnore
     public void lookup(AddressTemplate template, Progress progress, MetadataCallback callback) {
         logger.debug("Lookup metadata for {}", template);
-        processInternal(singleton(template), false, progress, new AsyncCallback<Void>() {
+        processInternal(singleton(template), false, emptyMap(), progress, new AsyncCallback<Void>() {
             @Override
             public void onFailure(Throwable throwable) {
                 callback.onError(throwable);
@@ -137,8 +151,10 @@ public class MetadataProcessor {
         });
     }
 
-    private void processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress,
-            AsyncCallback<Void> callback) {
+    private void processInternal(Set<AddressTemplate> templates, boolean recursive,
+            Map<AddressTemplate, Set<AddressTemplate>> bundles, Progress progress, AsyncCallback<Void> callback) {
+        workerChannel.connect();
+
         // we can skip the tasks if the metadata is already in the registries
         LookupRegistryTask lookupRegistries = new LookupRegistryTask(resourceDescriptionRegistry,
                 securityContextRegistry);
@@ -153,13 +169,13 @@ public class MetadataProcessor {
             if (!ie) {
                 tasks.add(new LookupDatabaseTask(resourceDescriptionDatabase, securityContextDatabase));
             }
-            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, BATCH_SIZE, RRD_DEPTH));
+            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, batchSize));
             tasks.add(new UpdateRegistryTask(resourceDescriptionRegistry, securityContextRegistry));
             if (!ie) {
                 tasks.add(new UpdateDatabaseTask(workerChannel));
             }
 
-            LookupContext context = new LookupContext(progress, templates, recursive);
+            LookupContext context = new LookupContext(progress, templates, recursive, bundles);
             Stopwatch stopwatch = Stopwatch.createStarted();
             series(context, tasks)
                     .subscribe(new Outcome<LookupContext>() {
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.meta.AddressTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adapts the number of r-r-d operations per composite and the recursive depth of the r-r-d operations based on the
+ * payload size and round-trip time of the previous composites.
+ * <p>
+ * Fast responses with small payloads double the batch size and increase the depth. Slow responses or big payloads
+ * halve the batch size and decrease the depth. Both values stay within fixed bounds. The depth never drops below
+ * {@link #MIN_DEPTH}, since recursive metadata is flagged as such in the registries and databases.
+ */
+class RrdBatchSize {
+
+    static final int MIN_BATCH_SIZE = 1;
+    static final int INITIAL_BATCH_SIZE = 3;
+    static final int MAX_BATCH_SIZE = 24;
+
+    static final int MIN_DEPTH = 3;
+    static final int MAX_DEPTH = 5;
+
+    /** Composites answered faster than this (in ms) are candidates to grow the batch size. */
+    static final long FAST_RESPONSE = 750;
+
+    /** Composites answered slower than this (in ms) shrink the batch size. */
+    static final long SLOW_RESPONSE = 3_000;
+
+    /** Upper bound for the estimated payload size of one composite. Some browsers choke on too big payload sizes. */
+    static final long MAX_PAYLOAD = 2_000_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RrdBatchSize.class);
+
+    private int batchSize;
+    private int depth;
+
+    RrdBatchSize() {
+        this.batchSize = INITIAL_BATCH_SIZE;
+        this.depth = MIN_DEPTH;
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Records the result of an executed composite and adjusts the batch size and depth used for the next composites.
+     *
+     * @param operations the number of operations in the composite
+     * @param payload    the estimated payload size of the composite result
+     * @param latency    the round-trip time in milliseconds
+     * @param recursive  whether the composite contained recursive operations
+     */
+    void record(int operations, long payload, long latency, boolean recursive) {
+        if (operations <= 0) {
+            return;
+        }
+
+        int oldBatchSize = batchSize;
+        int oldDepth = depth;
+        if (latency > SLOW_RESPONSE || payload > MAX_PAYLOAD) {
+            batchSize = Math.max(MIN_BATCH_SIZE, batchSize / 2);
+            if (recursive) {
+                depth = Math.max(MIN_DEPTH, depth - 1);
+            }
+
+        } else if (latency < FAST_RESPONSE) {
+            // only grow if the projected payload of the bigger batch still fits
+            long payloadPerOperation = payload / operations;
+            if (payloadPerOperation * batchSize * 2 <= MAX_PAYLOAD) {
+                batchSize = Math.min(MAX_BATCH_SIZE, batchSize * 2);
+            }
+            if (recursive && payload * 4 <= MAX_PAYLOAD) {
+                depth = Math.min(MAX_DEPTH, depth + 1);
+            }
+        }
+
+        if (oldBatchSize != batchSize || oldDepth != depth) {
+            logger.debug("Adjust r-r-d batch size {} -> {} and depth {} -> {} (payload: {}, latency: {} ms)",
+                    oldBatchSize, batchSize, oldDepth, depth, payload, latency);
+        }
+    }
+
+    /** Estimates the size of the model node without serializing it. */
+    static long estimateSize(ModelNode node) {
+        return AddressTrie.estimateSize(node);
+    }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
@@ -33,41 +34,55 @@ import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
+import rx.Observable;
 import rx.Single;
 import rx.functions.Action1;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.config.Settings.DEFAULT_METADATA_CONCURRENCY;
+import static org.jboss.hal.config.Settings.Key.METADATA_CONCURRENCY;
 
-/** Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata. */
+/**
+ * Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata.
+ * <p>
+ * The composite operations are executed with a bounded concurrency which is read from {@link
+ * Settings.Key#METADATA_CONCURRENCY}. A value of {@code 1} executes the composites one after another.
+ */
 class RrdTask implements Task<LookupContext> {
 
     private static final Logger logger = LoggerFactory.getLogger(RrdTask.class);
 
     private final Dispatcher dispatcher;
-    private final int batchSize;
-    private final CreateRrdOperations rrdOps;
+    private final RrdBatchSize batchSize;
+    private final int concurrency;
+    private final Environment environment;
+    private final StatementContext statementContext;
+    private final String locale;
 
     RrdTask(Environment environment, Dispatcher dispatcher, StatementContext statementContext, Settings settings,
-            int batchSize, int depth) {
+            RrdBatchSize batchSize) {
+        this.environment = environment;
         this.dispatcher = dispatcher;
+        this.statementContext = statementContext;
         this.batchSize = batchSize;
-        this.rrdOps = new CreateRrdOperations(environment, statementContext, settings.get(Settings.Key.LOCALE).value(),
-                depth);
+        this.concurrency = Math.max(1, settings.get(METADATA_CONCURRENCY).asInt(DEFAULT_METADATA_CONCURRENCY));
+        this.locale = settings.get(Settings.Key.LOCALE).value();
     }
 
     @Override
     public Completable call(LookupContext context) {
         boolean recursive = context.recursive;
         List<Completable> completables = new ArrayList<>();
+        CreateRrdOperations rrdOps = new CreateRrdOperations(environment, statementContext, locale,
+                batchSize.depth());
 
         // create and partition non-optional operations
         List<Operation> operations = rrdOps.create(context, recursive, false);
-        List<List<Operation>> piles = Lists.partition(operations, batchSize);
+        List<List<Operation>> piles = Lists.partition(operations, batchSize.batchSize());
         List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
         for (Composite composite : composites) {
-            completables.add(dispatcher.execute(composite)
-                    .doOnSuccess(parseRrdAction(context, composite))
-                    .toCompletable());
+            completables.add(execute(context, composite, dispatcher.execute(composite), true));
         }
 
         // create optional operations w/o partitioning!
@@ -78,7 +93,7 @@ class RrdTask implements Task<LookupContext> {
         List<Composite> optionalComposites = new ArrayList<>();
         optionalOperations.forEach(operation -> optionalComposites.add(new Composite(operation)));
         for (Composite composite : optionalComposites) {
-            completables.add(dispatcher.execute(composite)
+            completables.add(execute(context, composite, dispatcher.execute(composite)
                     .onErrorResumeNext(throwable -> {
                         if (throwable instanceof DispatchFailure) {
                             logger.debug("Ignore errors on optional resource operation {}", composite.asCli());
@@ -86,15 +101,15 @@ class RrdTask implements Task<LookupContext> {
                         } else {
                             return Single.error(throwable);
                         }
-                    })
-                    .doOnSuccess(parseRrdAction(context, composite))
-                    .toCompletable());
+                    }), false));
         }
 
         if (!completables.isEmpty()) {
             if (logger.isDebugEnabled()) {
-                logger.debug("About to execute {} ({}+{}) composite operations (regular+optional)",
-                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size());
+                logger.debug(
+                        "About to execute {} ({}+{}) composite operations (regular+optional) with concurrency {}",
+                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size(),
+                        concurrency);
                 String compositeOps = composites.stream().map(Composite::asCli).collect(Collectors.joining(", "));
                 logger.debug("Composite operations: {}", compositeOps);
                 if (!optionalComposites.isEmpty()) {
@@ -104,13 +119,37 @@ class RrdTask implements Task<LookupContext> {
                     logger.debug("Optional operations: {}", optionalOps);
                 }
             }
-            return Completable.concat(completables);
+            if (concurrency > 1 && completables.size() > 1) {
+                return Completable.merge(Observable.from(completables), concurrency);
+            } else {
+                return Completable.concat(completables);
+            }
         } else {
             logger.debug("No DMR operations necessary");
             return Completable.complete();
         }
     }
 
+    private Completable execute(LookupContext context, Composite composite, Single<CompositeResult> single,
+            boolean adaptBatchSize) {
+        Stopwatch stopwatch = Stopwatch.createUnstarted();
+        return single
+                .doOnSubscribe(stopwatch::start)
+                .doOnSuccess(compositeResult -> {
+                    long latency = stopwatch.stop().elapsed(MILLISECONDS);
+                    logger.debug("Executed composite operation with {} steps in {} ms", composite.size(), latency);
+                    if (adaptBatchSize) {
+                        long payload = 0;
+                        for (ModelNode step : compositeResult) {
+                            payload += RrdBatchSize.estimateSize(step);
+                        }
+                        batchSize.record(composite.size(), payload, latency, context.recursive);
+                    }
+                })
+                .doOnSuccess(parseRrdAction(context, composite))
+                .toCompletable();
+    }
+
     private Action1<CompositeResult> parseRrdAction(LookupContext context, Composite composite) {
         return (CompositeResult compositeResult) -> {
             RrdResult rrdResult = new CompositeRrdParser(composite).parse(compositeResult);
@@ -15,13 +15,8 @@
  */
 package org.jboss.hal.meta.processing;
 
-import java.util.Map;
-
 import com.google.common.base.Stopwatch;
-import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.flow.Task;
-import org.jboss.hal.meta.description.ResourceDescription;
-import org.jboss.hal.meta.security.SecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
@@ -38,27 +33,14 @@ class UpdateDatabaseTask implements Task<LookupContext> {
         this.workerChannel = workerChannel;
     }
 
-    @SuppressWarnings("unchecked")
     public Completable call(LookupContext context) {
         if (context.updateDatabase()) {
             Stopwatch watch = Stopwatch.createStarted();
-            for (Map.Entry<ResourceAddress, ResourceDescription> entry : context.toResourceDescriptionDatabase
-                    .entrySet()) {
-                ResourceAddress address = entry.getKey();
-                ResourceDescription resourceDescription = entry.getValue();
-                workerChannel.postResourceDescription(address, resourceDescription,
-                        context.recursive);
-            }
-            for (Map.Entry<ResourceAddress, SecurityContext> entry : context.toSecurityContextDatabase
-                    .entrySet()) {
-                ResourceAddress address = entry.getKey();
-                SecurityContext securityContext = entry.getValue();
-                workerChannel.postSecurityContext(address, securityContext, context.recursive);
-            }
-            logger.debug(
-                    "Posted {} resource descriptions and {} security contexts to the databases in {} ms",
-                    context.toResourceDescriptionDatabase.size(), context.toSecurityContextDatabase.size(),
-                    watch.stop().elapsed(MILLISECONDS));
+            int documents = workerChannel.postMetadata(context.toResourceDescriptionDatabase,
+                    context.toSecurityContextDatabase, context.recursive);
+            logger.debug("Posted {} documents ({} resource descriptions and {} security contexts) to the databases "
+                            + "in {} ms", documents, context.toResourceDescriptionDatabase.size(),
+                    context.toSecurityContextDatabase.size(), watch.stop().elapsed(MILLISECONDS));
         }
         return Completable.complete();
     }
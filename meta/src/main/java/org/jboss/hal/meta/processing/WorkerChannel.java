@@ -15,63 +15,262 @@
  */
 package org.jboss.hal.meta.processing;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import javax.inject.Inject;
 
+import elemental2.core.JsArray;
+import elemental2.dom.EventListener;
+import elemental2.dom.MessageEvent;
 import elemental2.dom.Worker;
 import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
 import org.jboss.hal.db.Document;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.js.Browser;
+import org.jboss.hal.meta.AbstractDatabase;
+import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.CacheManifest;
 import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
 import org.jboss.hal.meta.security.SecurityContext;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static jsinterop.annotations.JsPackage.GLOBAL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 import static org.jboss.hal.resources.UIConstants.OBJECT;
 
+/**
+ * Posts resource descriptions and security contexts to the web worker {@code js/worker.js} which stores them in the
+ * databases. All documents of one lookup are coalesced into one message. The worker writes the documents of each
+ * database using one bulk operation and reports the number of written documents back.
+ * <p>
+ * After writing, the worker announces the ids of the stored documents on the broadcast channel {@value #CHANNEL}.
+ * All other console tabs which use the same databases (same build, locale, management version and roles) read these
+ * documents and add them to their registries. This way metadata read in one tab is available in all other tabs
+ * without additional {@code read-resource-description} operations. Announcements of this tab are ignored.
+ * <p>
+ * When connected, the worker is asked to prune the documents which are stale according to the {@link CacheManifest}s
+ * of the databases.
+ */
 public class WorkerChannel {
 
+    static final String CHANNEL = "hal-metadata";
     private static final String WORKER_JS = "js/worker.js";
+    private static final Logger logger = LoggerFactory.getLogger(WorkerChannel.class);
 
     private final ResourceDescriptionDatabase resourceDescriptionDatabase;
     private final SecurityContextDatabase securityContextDatabase;
+    private final ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private final SecurityContextRegistry securityContextRegistry;
+    private final String origin;
     private final Worker worker;
+    private boolean connected;
+    private BroadcastChannel channel;
 
     @Inject
     public WorkerChannel(ResourceDescriptionDatabase resourceDescriptionDatabase,
-            SecurityContextDatabase securityContextDatabase) {
+            SecurityContextDatabase securityContextDatabase,
+            ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry) {
         this.resourceDescriptionDatabase = resourceDescriptionDatabase;
         this.securityContextDatabase = securityContextDatabase;
+        this.resourceDescriptionRegistry = resourceDescriptionRegistry;
+        this.securityContextRegistry = securityContextRegistry;
+        this.origin = Long.toString(System.currentTimeMillis(), 36) + "-" + Math.round(Math.random() * 1_000_000);
         this.worker = Browser.isIE() ? null : new Worker(WORKER_JS);
+        if (worker != null) {
+            worker.addEventListener("message", event -> { //NON-NLS
+                UpdateResult result = Js.cast(((MessageEvent) event).data);
+                if (result.failed > 0) {
+                    logger.error("Failed to write {} documents to {}: {}", result.failed, result.database,
+                            result.error);
+                }
+                logger.debug("Inserted {} and updated {} documents in {} in {} ms", result.inserted, result.updated,
+                        result.database, result.time);
+            });
+        }
     }
 
-    void postResourceDescription(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
-        if (worker != null) {
-            resourceDescription.get(HAL_RECURSIVE).set(recursive);
-            UpdateMessage message = new UpdateMessage();
-            message.database = resourceDescriptionDatabase.name();
-            message.document = resourceDescriptionDatabase.asDocument(address, resourceDescription);
-            worker.postMessage(message);
+    /**
+     * Asks the worker to prune stale documents and starts listening for documents stored by other tabs. Must not be
+     * called before the environment and the settings have been initialized, since they're part of the database names
+     * and manifests. Subsequent calls have no effect.
+     */
+    void connect() {
+        if (worker != null && !connected) {
+            connected = true;
+            prune();
+            if (hasBroadcastChannel()) {
+                channel = new BroadcastChannel(CHANNEL);
+                channel.addEventListener("message", //NON-NLS
+                        event -> onStored(Js.cast(((MessageEvent) event).data)));
+                logger.debug("Listen for metadata stored by other tabs on channel {}", CHANNEL);
+            }
         }
     }
 
-    void postSecurityContext(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
+    /**
+     * Posts the current manifests to the worker. The worker compares them with the manifests stored in the databases
+     * and removes the documents of all subtrees whose fingerprint has changed in the background.
+     */
+    private void prune() {
+        UpdateMessage message = new UpdateMessage();
+        message.origin = origin;
+        message.updates = new JsArray<>();
+        message.prunes = new JsArray<>();
+        message.prunes.push(prune(resourceDescriptionDatabase));
+        message.prunes.push(prune(securityContextDatabase));
+        worker.postMessage(message);
+    }
+
+    private Prune prune(AbstractDatabase<?> database) {
+        Prune prune = new Prune();
+        prune.database = database.name();
+        prune.fingerprints = JsPropertyMap.of();
+        database.manifest().fingerprints().forEach(prune.fingerprints::set);
+        return prune;
+    }
+
+    private static native boolean hasBroadcastChannel() /*-{
+        return typeof $wnd.BroadcastChannel !== "undefined";
+    }-*/;
+
+    private void onStored(StoredMessage message) {
+        if (origin.equals(message.origin) || message.ids == null) {
+            return;
+        }
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < message.ids.getLength(); i++) {
+            ids.add(message.ids.getAt(i));
+        }
+        if (resourceDescriptionDatabase.name().equals(message.database)) {
+            share(resourceDescriptionDatabase, resourceDescriptionRegistry, ids);
+        } else if (securityContextDatabase.name().equals(message.database)) {
+            share(securityContextDatabase, securityContextRegistry, ids);
+        }
+    }
+
+    private <T extends ModelNode> void share(AbstractDatabase<T> database, AbstractRegistry<T> registry,
+            Set<String> ids) {
+        database.getDocuments(ids).subscribe(
+                metadata -> {
+                    metadata.forEach((address, entry) ->
+                            registry.add(address, entry, entry.get(HAL_RECURSIVE).asBoolean(false)));
+                    logger.debug("Added {} {}s stored by another tab", metadata.size(), database.type());
+                },
+                error -> logger.error("Unable to read {}s stored by another tab: {}", database.type(),
+                        error.getMessage()));
+    }
+
+    /** Coalesces the resource descriptions and security contexts into one message and posts it to the worker. */
+    int postMetadata(Map<ResourceAddress, ResourceDescription> resourceDescriptions,
+            Map<ResourceAddress, SecurityContext> securityContexts, boolean recursive) {
+        int documents = 0;
         if (worker != null) {
-            securityContext.get(HAL_RECURSIVE).set(recursive);
             UpdateMessage message = new UpdateMessage();
-            message.database = securityContextDatabase.name();
-            message.document = securityContextDatabase.asDocument(address, securityContext);
-            worker.postMessage(message);
+            message.origin = origin;
+            message.updates = new JsArray<>();
+            message.prunes = new JsArray<>();
+            if (!resourceDescriptions.isEmpty()) {
+                Update update = new Update();
+                update.database = resourceDescriptionDatabase.name();
+                update.documents = new JsArray<>();
+                resourceDescriptions.forEach((address, resourceDescription) ->
+                        update.documents.push(resourceDescriptionDatabase.asDocument(address,
+                                new ResourceDescription(flagged(resourceDescription, recursive)))));
+                message.updates.push(update);
+                documents += update.documents.length;
+            }
+            if (!securityContexts.isEmpty()) {
+                Update update = new Update();
+                update.database = securityContextDatabase.name();
+                update.documents = new JsArray<>();
+                securityContexts.forEach((address, securityContext) ->
+                        update.documents.push(securityContextDatabase.asDocument(address,
+                                new SecurityContext(flagged(securityContext, recursive)))));
+                message.updates.push(update);
+                documents += update.documents.length;
+            }
+            if (documents > 0) {
+                worker.postMessage(message);
+            }
         }
+        return documents;
+    }
+
+    /**
+     * Returns a copy of the metadata which stores the recursive flag of the current lookup. The registries hold the
+     * same instances and keep their own flag (see {@link AbstractRegistry#add(ResourceAddress, ModelNode, boolean)}),
+     * so the metadata must not be changed in place.
+     */
+    static ModelNode flagged(ModelNode metadata, boolean recursive) {
+        ModelNode copy = metadata.clone();
+        copy.get(HAL_RECURSIVE).set(recursive);
+        return copy;
     }
 
 
     @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
     private static class UpdateMessage {
 
+        String origin;
+        JsArray<Update> updates;
+        JsArray<Prune> prunes;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Update {
+
         String database;
-        Document document;
+        JsArray<Document> documents;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Prune {
+
+        String database;
+        JsPropertyMap<String> fingerprints;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class UpdateResult {
+
+        String database;
+        int inserted;
+        int updated;
+        int failed;
+        double time;
+        String error;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class StoredMessage {
+
+        String origin;
+        String database;
+        JsArray<String> ids;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL)
+    private static class BroadcastChannel {
+
+        BroadcastChannel(String name) {
+        }
+
+        native void addEventListener(String type, EventListener listener);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.meta.resource;
 
+import java.util.Map;
 import java.util.Set;
 
 public interface RequiredResources {
@@ -22,4 +23,10 @@ public interface RequiredResources {
     Set<String> getResources(String id);
 
     boolean isRecursive(String id);
+
+    /**
+     * Returns the bundles of the specified id. A bundle maps a parent template to the required child templates whose
+     * metadata can be read by one r-r-d operation at the parent.
+     */
+    Map<String, Set<String>> getBundles(String id);
 }
@@ -26,9 +26,9 @@ import org.jboss.hal.config.Settings.Key;
 import org.jboss.hal.config.User;
 import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
-import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractDatabase;
+import org.jboss.hal.meta.CacheManifest;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
 
@@ -42,6 +42,7 @@ public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
     private final Environment environment;
     private final Settings settings;
     private String name;
+    private CacheManifest manifest;
     private PouchDB database;
 
     @Inject
@@ -69,23 +70,27 @@ public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
             name = Ids.build("hal-db-sc",
                     provider,
                     roles,
-                    environment.getHalBuild().name(),
-                    environment.getManagementVersion().toString());
+                    environment.getHalBuild().name());
         }
         return name;
     }
 
     @Override
     public SecurityContext asMetadata(Document document) {
-        return new SecurityContext(ModelNode.fromBase64(document.getAny(PAYLOAD).asString()));
+        return new SecurityContext(readPayload(document));
     }
 
     @Override
     public Document asDocument(ResourceAddress address, SecurityContext securityContext) {
-        Document document = Document.of(address.toString());
-        document.set(PAYLOAD, securityContext.toBase64String());
-        return document;
+        return newDocument(address, securityContext);
+    }
 
+    @Override
+    public CacheManifest manifest() {
+        if (manifest == null) {
+            manifest = CacheManifest.of(environment);
+        }
+        return manifest;
     }
 
     @Override
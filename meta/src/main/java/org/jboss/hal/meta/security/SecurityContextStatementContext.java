@@ -24,6 +24,8 @@ import static org.jboss.hal.meta.SelectionAwareStatementContext.SELECTION_KEY;
 
 public class SecurityContextStatementContext extends FilteringStatementContext {
 
+    private final StatementContext delegate;
+
     public SecurityContextStatementContext(StatementContext delegate, Environment environment) {
         super(delegate, new Filter() {
             @Override
@@ -57,5 +59,12 @@ public class SecurityContextStatementContext extends FilteringStatementContext {
                 return delegate.resolveTuple(placeholder, template);
             }
         });
+        this.delegate = delegate;
+    }
+
+    /** The filter depends on the environment only, so the generation of the delegate applies. */
+    @Override
+    public long generation() {
+        return delegate.generation();
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import jsinterop.annotations.JsType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static elemental2.dom.DomGlobal.performance;
+
+/**
+ * Micro benchmark for {@link AddressTemplate#resolve(StatementContext, String...)}. Resolves the templates of the
+ * {@code AddressTemplateTest} scenarios and some typical templates with variables using the cache and w/o using the
+ * cache and logs the average times. The benchmark is not part of the console. Add the test sources to a development
+ * build to use it from the browser console:
+ * <pre>
+ * hal.meta.AddressTemplateBenchmark.run(hal.core.Core.getInstance().statementContext, 10000);
+ * </pre>
+ */
+@JsType(namespace = "hal.meta")
+public class AddressTemplateBenchmark {
+
+    private static final String[] TEMPLATES = new String[]{
+            "a=b",
+            "a=b/c=d",
+            "a=*/c=*",
+            "{a}/b={c}",
+            "a=b/c=%2F/d=e",
+            "{selected.profile}/subsystem=datasources/data-source=*",
+            "{selected.host}/{selected.server}/subsystem=undertow/server=*/host=*",
+            "{domain.controller}/core-service=management/access=authorization",
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressTemplateBenchmark.class);
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param context    The statement context used to resolve the templates.
+     * @param iterations The number of iterations.
+     *
+     * @return a summary of the average times in microseconds per template
+     */
+    public static String run(StatementContext context, int iterations) {
+        AddressTemplate[] templates = new AddressTemplate[TEMPLATES.length];
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            templates[i] = AddressTemplate.of(TEMPLATES[i]);
+        }
+
+        double parse = measure(iterations, () -> {
+            for (String template : TEMPLATES) {
+                AddressTemplate.of(template).resolveTokens(context);
+            }
+        });
+        double uncached = measure(iterations, () -> {
+            for (AddressTemplate template : templates) {
+                template.resolveTokens(context);
+            }
+        });
+        double cached = measure(iterations, () -> {
+            for (AddressTemplate template : templates) {
+                template.resolve(context);
+            }
+        });
+
+        String summary = "Generation: " + context.generation() + ". " +
+                "Parse and resolve: " + format(parse / TEMPLATES.length) + " \u00b5s, " +
+                "resolve: " + format(uncached / TEMPLATES.length) + " \u00b5s, " +
+                "resolve (cached): " + format(cached / TEMPLATES.length) + " \u00b5s";
+        logger.info(summary);
+        return summary;
+    }
+
+    private static double measure(int iterations, Runnable runnable) {
+        runnable.run(); // warm up
+        double start = performance.now();
+        for (int i = 0; i < iterations; i++) {
+            runnable.run();
+        }
+        return (performance.now() - start) * 1000 / Math.max(1, iterations);
+    }
+
+    private static String format(double value) {
+        return String.valueOf(Math.round(value * 100) / 100.0);
+    }
+
+    private AddressTemplateBenchmark() {
+    }
+}
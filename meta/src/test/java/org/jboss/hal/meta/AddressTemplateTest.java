@@ -253,6 +253,38 @@ public class AddressTemplateTest {
         assertEquals("a=b/c=%2F/d=e", at.getTemplate());
     }
 
+    @Test
+    public void resolveCached() {
+        GenerationContext context = new GenerationContext();
+        AddressTemplate at = AddressTemplate.of("{a}/b=c");
+        assertResolved(new String[][]{{"a", "one"}, {"b", "c"}}, at.resolve(context));
+
+        // same generation -> cached address even if the value changed
+        context.value = "two";
+        assertResolved(new String[][]{{"a", "one"}, {"b", "c"}}, at.resolve(context));
+
+        context.generation = StatementContext.nextGeneration();
+        assertResolved(new String[][]{{"a", "two"}, {"b", "c"}}, at.resolve(context));
+    }
+
+    @Test
+    public void resolveCachedCopy() {
+        AddressTemplate at = AddressTemplate.of("a=b");
+        at.resolve(StatementContext.NOOP).add("c", "d");
+        assertResolved(new String[][]{{"a", "b"}}, at.resolve(StatementContext.NOOP));
+    }
+
+    @Test
+    public void resolveNoGeneration() {
+        GenerationContext context = new GenerationContext();
+        context.generation = StatementContext.NO_GENERATION;
+        AddressTemplate at = AddressTemplate.of("{a}/b=c");
+        assertResolved(new String[][]{{"a", "one"}, {"b", "c"}}, at.resolve(context));
+
+        context.value = "two";
+        assertResolved(new String[][]{{"a", "two"}, {"b", "c"}}, at.resolve(context));
+    }
+
     private void assertResolved(String[][] tuples, ResourceAddress resourceAddress) {
         List<Property> properties = resourceAddress.asPropertyList();
         assertEquals(tuples.length, properties.size());
@@ -263,4 +295,21 @@ public class AddressTemplateTest {
             i++;
         }
     }
-}
\ No newline at end of file
+
+
+    private static class GenerationContext extends TestableStatementContext {
+
+        private String value = "one";
+        private long generation = StatementContext.nextGeneration();
+
+        @Override
+        public String[] resolveTuple(String placeholder, AddressTemplate template) {
+            return new String[]{placeholder, value};
+        }
+
+        @Override
+        public long generation() {
+            return generation;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.jboss.hal.meta;
+
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNodeHelper;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+package org.jboss.hal.meta;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class AddressTrieTest {
+
+    private AddressTrie<String> trie;
+
+    @Before
+    public void setUp() {
+        trie = new AddressTrie<>(100, String::length);
+    }
+
+    @Test
+    public void putAndGet() {
+        trie.put(address("subsystem=elytron"), "elytron");
+        trie.put(address("subsystem=elytron/key-store=*"), "key-store");
+
+        assertEquals("elytron", trie.get(address("subsystem=elytron")));
+        assertEquals("key-store", trie.get(address("subsystem=elytron/key-store=*")));
+        assertNull(trie.get(address("subsystem=elytron/key-store=foo")));
+        assertNull(trie.get(address("subsystem=undertow")));
+        assertEquals(2, trie.size());
+        assertEquals(16, trie.bytes());
+    }
+
+    @Test
+    public void replace() {
+        trie.put(address("a=b"), "foo");
+        trie.put(address("a=b"), "foobar");
+        assertEquals("foobar", trie.get(address("a=b")));
+        assertEquals(1, trie.size());
+        assertEquals(6, trie.bytes());
+    }
+
+    @Test
+    public void match() {
+        trie.put(address("subsystem=datasources/data-source=a"), "a");
+        trie.put(address("subsystem=datasources/data-source=b"), "b");
+        trie.put(address("subsystem=datasources/xa-data-source=c"), "c");
+
+        List<String> values = trie.match(address("subsystem=datasources/data-source=*"));
+        assertEquals(2, values.size());
+        assertTrue(values.contains("a"));
+        assertTrue(values.contains("b"));
+    }
+
+    @Test
+    public void removeSubtree() {
+        trie.put(address("subsystem=elytron"), "elytron");
+        trie.put(address("subsystem=elytron/key-store=*"), "key-store");
+        trie.put(address("subsystem=undertow"), "undertow");
+
+        assertEquals(2, trie.removeSubtree(address("subsystem=elytron")));
+        assertNull(trie.get(address("subsystem=elytron")));
+        assertNull(trie.get(address("subsystem=elytron/key-store=*")));
+        assertEquals("undertow", trie.get(address("subsystem=undertow")));
+        assertEquals(8, trie.bytes());
+    }
+
+    @Test
+    public void containsSubtree() {
+        trie.put(address("subsystem=elytron"), "elytron");
+        trie.put(address("subsystem=elytron/key-store=*"), "key-store");
+        assertTrue(trie.containsSubtree(address("subsystem=elytron")));
+
+        trie.removeSubtree(address("subsystem=elytron/key-store=*"));
+        assertFalse(trie.containsSubtree(address("subsystem=elytron")));
+
+        // storing the parent again completes the subtree
+        trie.put(address("subsystem=elytron"), "elytron");
+        assertTrue(trie.containsSubtree(address("subsystem=elytron")));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        trie.put(address("a=1"), repeat('a', 40));
+        trie.put(address("a=2"), repeat('b', 40));
+        trie.get(address("a=1")); // touch
+        trie.put(address("a=3"), repeat('c', 40));
+
+        assertNull(trie.get(address("a=2")));
+        assertEquals(repeat('a', 40), trie.get(address("a=1")));
+        assertEquals(repeat('c', 40), trie.get(address("a=3")));
+        assertEquals(80, trie.bytes());
+    }
+
+    @Test
+    public void evictionTruncatesParent() {
+        trie.put(address("a=1"), "x");
+        trie.put(address("a=1/b=2"), repeat('b', 60));
+        trie.get(address("a=1")); // touch
+        trie.put(address("a=2"), repeat('c', 60));
+
+        assertNull(trie.get(address("a=1/b=2")));
+        assertEquals("x", trie.get(address("a=1")));
+        assertFalse(trie.containsSubtree(address("a=1")));
+    }
+
+    @Test
+    public void stats() {
+        trie.put(address("a=1"), repeat('a', 60));
+        trie.get(address("a=1"));
+        trie.get(address("a=2"));
+        trie.put(address("a=2"), repeat('b', 60)); // evicts a=1
+        trie.put(address("a=1"), repeat('a', 60)); // reloads a=1, evicts a=2
+        trie.peek(address("a=1"));
+
+        AddressTrie.Stats stats = trie.stats();
+        assertEquals(1, stats.getSize());
+        assertEquals(60, stats.getBytes());
+        assertEquals(100, stats.getMaxBytes());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.001);
+        assertEquals(2, stats.getEvictions());
+        assertEquals(1, stats.getReloads());
+    }
+
+    @Test
+    public void estimateSize() {
+        ResourceAddress node = address("a=b");
+        assertEquals(2, AddressTrie.estimateSize(node));
+    }
+
+    private ResourceAddress address(String address) {
+        return ResourceAddress.from(address);
+    }
+
+    private String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
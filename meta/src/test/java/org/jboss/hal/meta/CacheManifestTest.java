@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.hal.config.Version;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.meta.CacheManifest.CORE;
+import static org.jboss.hal.meta.CacheManifest.subtree;
+import static org.junit.Assert.assertEquals;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class CacheManifestTest {
+
+    private CacheManifest manifest;
+
+    @Before
+    public void setUp() {
+        Map<String, Version> subsystems = new HashMap<>();
+        subsystems.put("datasources", new Version(5, 0, 0));
+        subsystems.put("undertow", new Version(4, 0, 0));
+        manifest = new CacheManifest(new Version(7, 0, 0), subsystems);
+    }
+
+    @Test
+    public void subtrees() {
+        assertEquals(CORE, subtree(""));
+        assertEquals(CORE, subtree("/"));
+        assertEquals(CORE, subtree("/core-service=management"));
+        assertEquals("subsystem=datasources", subtree("/subsystem=datasources"));
+        assertEquals("subsystem=datasources", subtree("/subsystem=datasources/data-source=*"));
+        assertEquals("subsystem=undertow", subtree("/profile=full/subsystem=undertow/server=*"));
+        assertEquals("subsystem=*", subtree("/subsystem=*"));
+    }
+
+    @Test
+    public void fingerprints() {
+        assertEquals("7.0.0", manifest.fingerprint("/"));
+        assertEquals("7.0.0", manifest.fingerprint("/core-service=management"));
+        assertEquals("5.0.0", manifest.fingerprint("/subsystem=datasources/data-source=*"));
+        assertEquals("4.0.0", manifest.fingerprint("/host=*/server=*/subsystem=undertow"));
+        assertEquals("7.0.0", manifest.fingerprint("/subsystem=unknown"));
+        assertEquals(3, manifest.fingerprints().size());
+    }
+}
@@ -1,7 +1,10 @@
 package org.jboss.hal.meta.processing;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.common.collect.Sets;
 import org.jboss.hal.config.Environment;
@@ -70,6 +73,46 @@ public class CreateRrdOperationsTest {
         assertTrue(operation.get(OPERATIONS).asBoolean());
     }
 
+    @Test
+    public void bundle() {
+        AddressTemplate parent = AddressTemplate.of("subsystem=foo");
+        AddressTemplate a = AddressTemplate.of("subsystem=foo/a=*");
+        AddressTemplate b = AddressTemplate.of("subsystem=foo/b=*");
+        AddressTemplate c = AddressTemplate.of("subsystem=foo/c=*");
+        AddressTemplate other = AddressTemplate.of("subsystem=bar");
+
+        LookupResult lookupResult = new LookupResult(Sets.newHashSet(a, b, c, other));
+        lookupResult.markMetadataPresent(c, RESOURCE_DESCRIPTION_PRESENT);
+        lookupResult.markMetadataPresent(c, SECURITY_CONTEXT_PRESENT);
+        Map<AddressTemplate, Set<AddressTemplate>> bundles = new HashMap<>();
+        bundles.put(parent, Sets.newHashSet(a, b, c));
+
+        List<Operation> operations = rrdOps.create(new LookupContext(lookupResult, bundles), false, false);
+        assertEquals(2, operations.size());
+
+        Operation operation = findOperation(operations, parent);
+        assertEquals(1, operation.get(RECURSIVE_DEPTH).asInt());
+        assertEquals(COMBINED_DESCRIPTIONS, operation.get(ACCESS_CONTROL).asString());
+        findOperation(operations, other);
+    }
+
+    @Test
+    public void bundleWithOneMissing() {
+        AddressTemplate parent = AddressTemplate.of("subsystem=foo");
+        AddressTemplate a = AddressTemplate.of("subsystem=foo/a=*");
+        AddressTemplate b = AddressTemplate.of("subsystem=foo/b=*");
+
+        LookupResult lookupResult = new LookupResult(Sets.newHashSet(a, b));
+        lookupResult.markMetadataPresent(b, RESOURCE_DESCRIPTION_PRESENT);
+        lookupResult.markMetadataPresent(b, SECURITY_CONTEXT_PRESENT);
+        Map<AddressTemplate, Set<AddressTemplate>> bundles = new HashMap<>();
+        bundles.put(parent, Sets.newHashSet(a, b));
+
+        List<Operation> operations = rrdOps.create(new LookupContext(lookupResult, bundles), false, false);
+        assertEquals(1, operations.size());
+        assertFalse(findOperation(operations, a).get(RECURSIVE_DEPTH).isDefined());
+    }
+
     @Test
     public void optional() {
         // TODO Test optional resources
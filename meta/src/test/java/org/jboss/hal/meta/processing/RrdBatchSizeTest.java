@@ -0,0 +1,102 @@
+package org.jboss.hal.meta.processing;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.meta.processing.RrdBatchSize.FAST_RESPONSE;
+import static org.jboss.hal.meta.processing.RrdBatchSize.INITIAL_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.RrdBatchSize.MAX_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.RrdBatchSize.MAX_DEPTH;
+import static org.jboss.hal.meta.processing.RrdBatchSize.MAX_PAYLOAD;
+import static org.jboss.hal.meta.processing.RrdBatchSize.MIN_BATCH_SIZE;
+import static org.jboss.hal.meta.processing.RrdBatchSize.MIN_DEPTH;
+import static org.jboss.hal.meta.processing.RrdBatchSize.SLOW_RESPONSE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RrdBatchSizeTest {
+
+    private RrdBatchSize batchSize;
+
+    @Before
+    public void setUp() {
+        batchSize = new RrdBatchSize();
+    }
+
+    @Test
+    public void initialState() {
+        assertEquals(INITIAL_BATCH_SIZE, batchSize.batchSize());
+        assertEquals(MIN_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void grow() {
+        batchSize.record(3, 1_000, 100, false);
+        assertEquals(INITIAL_BATCH_SIZE * 2, batchSize.batchSize());
+        assertEquals(MIN_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void growRecursive() {
+        batchSize.record(3, 1_000, 100, true);
+        assertEquals(INITIAL_BATCH_SIZE * 2, batchSize.batchSize());
+        assertEquals(MIN_DEPTH + 1, batchSize.depth());
+    }
+
+    @Test
+    public void growWithinBounds() {
+        for (int i = 0; i < 10; i++) {
+            batchSize.record(batchSize.batchSize(), 1_000, 100, true);
+        }
+        assertEquals(MAX_BATCH_SIZE, batchSize.batchSize());
+        assertEquals(MAX_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void dontGrowBeyondPayload() {
+        // 3 operations with 500k each: doubling the batch would exceed the max payload
+        batchSize.record(3, 1_500_000, 100, false);
+        assertEquals(INITIAL_BATCH_SIZE, batchSize.batchSize());
+    }
+
+    @Test
+    public void keep() {
+        batchSize.record(3, 1_000, FAST_RESPONSE + 1, true);
+        assertEquals(INITIAL_BATCH_SIZE, batchSize.batchSize());
+        assertEquals(MIN_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void shrinkOnLatency() {
+        batchSize.record(3, 1_000, 100, true);
+        batchSize.record(6, 1_000, SLOW_RESPONSE + 1, true);
+        assertEquals(INITIAL_BATCH_SIZE, batchSize.batchSize());
+        assertEquals(MIN_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void shrinkOnPayload() {
+        batchSize.record(3, MAX_PAYLOAD + 1, 100, false);
+        assertEquals(MIN_BATCH_SIZE, batchSize.batchSize());
+    }
+
+    @Test
+    public void shrinkWithinBounds() {
+        for (int i = 0; i < 10; i++) {
+            batchSize.record(1, 1_000, SLOW_RESPONSE + 1, true);
+        }
+        assertEquals(MIN_BATCH_SIZE, batchSize.batchSize());
+        assertEquals(MIN_DEPTH, batchSize.depth());
+    }
+
+    @Test
+    public void estimateSize() {
+        ModelNode node = new ModelNode();
+        node.get("foo").set("bar");
+        node.get("list").add(1).add(2);
+        assertEquals("foo".length() + "bar".length() + "list".length() + 2 * 8,
+                RrdBatchSize.estimateSize(node));
+        assertTrue(RrdBatchSize.estimateSize(new ModelNode()) > 0);
+    }
+}
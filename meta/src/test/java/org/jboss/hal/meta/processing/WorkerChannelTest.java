@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.AddressTemplate;
+import org.jboss.hal.meta.TestableStatementContext;
+import org.jboss.hal.meta.description.ResourceDescription;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class WorkerChannelTest {
+
+    private static final AddressTemplate TEMPLATE = AddressTemplate.of("subsystem=datasources");
+
+    private AbstractRegistry<ResourceDescription> registry;
+    private ResourceDescription resourceDescription;
+
+    @Before
+    public void setUp() {
+        registry = new AbstractRegistry<ResourceDescription>(new TestableStatementContext(), "test",
+                () -> 1_000_000L) {};
+        ModelNode payload = new ModelNode();
+        payload.get(DESCRIPTION).set("datasources");
+        resourceDescription = new ResourceDescription(payload);
+    }
+
+    @Test
+    public void registryKeepsRecursiveFlag() {
+        ResourceAddress address = TEMPLATE.resolve(new TestableStatementContext());
+        registry.add(address, resourceDescription, true);
+
+        ModelNode document = WorkerChannel.flagged(resourceDescription, false);
+
+        assertFalse(document.get(HAL_RECURSIVE).asBoolean());
+        assertTrue(resourceDescription.get(HAL_RECURSIVE).asBoolean());
+        assertTrue(registry.containsRecursive(TEMPLATE));
+    }
+
+    @Test
+    public void documentKeepsPayload() {
+        ModelNode document = WorkerChannel.flagged(resourceDescription, true);
+
+        assertTrue(document.get(HAL_RECURSIVE).asBoolean());
+        assertEquals("datasources", document.get(DESCRIPTION).asString());
+    }
+}
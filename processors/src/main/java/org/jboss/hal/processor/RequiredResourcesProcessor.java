@@ -15,11 +15,14 @@
  */
 package org.jboss.hal.processor;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 
 import javax.annotation.processing.Processor;
@@ -42,7 +45,16 @@ import static org.jboss.hal.processor.TemplateNames.GENERATED_WITH;
 import static org.jboss.hal.processor.TemplateNames.PACKAGE_NAME;
 import static org.jboss.hal.processor.TemplateNames.TEMPLATES;
 
-/** Processor which scans all {@code @Requires} annotations and generates the {@code RequiredResources} registry. */
+/**
+ * Processor which scans all {@code @Requires} annotations and generates the {@code RequiredResources} registry.
+ * <p>
+ * The processor builds a dependency graph of all required templates across name tokens and columns, which maps each
+ * parent template to the child templates required by any id. If a parent has at least {@link #MIN_SIBLINGS} required
+ * children and one id requires at least {@link #MIN_BUNDLE_SIZE} of them, the children of this id are registered as a
+ * bundle. At runtime the metadata of a bundle is read by one r-r-d operation at the parent instead of one operation
+ * per child. Optional templates, templates of recursive ids and parents which are not a concrete resource are never
+ * bundled.
+ */
 @AutoService(Processor.class)
 @SuppressWarnings("HardCodedStringLiteral")
 @SupportedAnnotationTypes("org.jboss.hal.spi.Requires")
@@ -56,6 +68,14 @@ public class RequiredResourcesProcessor extends AbstractProcessor {
     private static final String REGISTRY_MODULE_PACKAGE = "org.jboss.hal.meta";
     private static final String REGISTRY_MODULE_CLASS = "RequiredResourcesRegistryModule";
 
+    /** Minimum number of required children of a parent across all ids to consider the parent for bundles. */
+    static final int MIN_SIBLINGS = 4;
+
+    /** Minimum number of children of the same parent required by one id to create a bundle. */
+    static final int MIN_BUNDLE_SIZE = 3;
+
+    private static final String OPTIONAL = "opt://";
+
     private final Map<String, RequiredInfo> requiredInfos;
 
     public RequiredResourcesProcessor() {
@@ -105,6 +125,9 @@ public class RequiredResourcesProcessor extends AbstractProcessor {
         }
 
         if (!requiredInfos.isEmpty()) {
+            int bundles = bundle();
+            debug("Created %d metadata bundles for %d ids", bundles, requiredInfos.size());
+
             debug("Generating code for required resources registry");
             code(REQUIRED_RESOURCES_TEMPLATE, REQUIRED_RESOURCES_PACKAGE, REQUIRED_RESOURCES_CLASS,
                     context(REQUIRED_RESOURCES_PACKAGE, REQUIRED_RESOURCES_CLASS));
@@ -130,6 +153,70 @@ public class RequiredResourcesProcessor extends AbstractProcessor {
         return false;
     }
 
+    /**
+     * Builds the dependency graph parent template -> required child templates and assigns the bundles to the required
+     * infos.
+     *
+     * @return the number of bundles
+     */
+    private int bundle() {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (RequiredInfo requiredInfo : requiredInfos.values()) {
+            for (String resource : requiredInfo.getResources()) {
+                String parent = parent(resource);
+                if (parent != null) {
+                    graph.computeIfAbsent(parent, p -> new HashSet<>()).add(normalize(resource));
+                }
+            }
+        }
+
+        int count = 0;
+        for (RequiredInfo requiredInfo : requiredInfos.values()) {
+            if (requiredInfo.isRecursive()) {
+                continue;
+            }
+            Map<String, Set<String>> children = new TreeMap<>();
+            for (String resource : requiredInfo.getResources()) {
+                String parent = parent(resource);
+                if (parent != null && graph.get(parent).size() >= MIN_SIBLINGS) {
+                    children.computeIfAbsent(parent, p -> new TreeSet<>()).add(resource);
+                }
+            }
+            for (Map.Entry<String, Set<String>> entry : children.entrySet()) {
+                if (entry.getValue().size() >= MIN_BUNDLE_SIZE) {
+                    requiredInfo.addBundle(new Bundle(entry.getKey(), entry.getValue()));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /** @return the parent of the template or {@code null} if the template must not be bundled */
+    static String parent(String template) {
+        if (template == null || template.startsWith(OPTIONAL)) {
+            return null;
+        }
+        String normalized = normalize(template);
+        int index = normalized.lastIndexOf('/');
+        if (index <= 0) {
+            return null;
+        }
+        // the parent must end with a concrete resource: r-r-d operations at the root, a profile or a wildcard
+        // address would return way too much metadata
+        String parent = normalized.substring(0, index);
+        String last = parent.substring(parent.lastIndexOf('/') + 1);
+        if (!last.contains("=") || last.startsWith("{") || parent.contains("=*")) {
+            return null;
+        }
+        return parent;
+    }
+
+    private static String normalize(String template) {
+        String normalized = template.startsWith("/") ? template : "/" + template;
+        return normalized.endsWith("/") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+
     private Supplier<Map<String, Object>> context(String packageName, String className) {
         return () -> {
             Map<String, Object> context = new HashMap<>();
@@ -147,12 +234,14 @@ public class RequiredResourcesProcessor extends AbstractProcessor {
         private final String id;
         private final TypeElement source;
         private final Set<String> resources;
+        private final List<Bundle> bundles;
         private boolean recursive;
 
         RequiredInfo(String id, TypeElement source) {
             this.id = id;
             this.source = source;
             this.resources = new HashSet<>();
+            this.bundles = new ArrayList<>();
             this.recursive = false;
         }
 
@@ -196,8 +285,37 @@ public class RequiredResourcesProcessor extends AbstractProcessor {
             this.resources.addAll(asList(resources));
         }
 
+        public List<Bundle> getBundles() {
+            return bundles;
+        }
+
+        void addBundle(Bundle bundle) {
+            bundles.add(bundle);
+        }
+
         public String getId() {
             return id;
         }
     }
+
+
+    /** Required child templates which share the same parent template. */
+    public static class Bundle {
+
+        private final String parent;
+        private final Set<String> templates;
+
+        Bundle(String parent, Set<String> templates) {
+            this.parent = parent;
+            this.templates = templates;
+        }
+
+        public String getParent() {
+            return parent;
+        }
+
+        public Set<String> getTemplates() {
+            return templates;
+        }
+    }
 }
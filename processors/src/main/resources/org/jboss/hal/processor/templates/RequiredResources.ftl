@@ -22,19 +22,33 @@ public class ${className} implements org.jboss.hal.meta.resource.RequiredResourc
 
     private final HashMultimap<String, String> resources;
     private final Map<String, Boolean> recursive;
+    private final Map<String, Map<String, Set<String>>> bundles;
 
     public ${className}() {
         resources = HashMultimap.create();
         recursive = new HashMap<>();
+        bundles = new HashMap<>();
 
         <#list requiredInfos as requiredInfo>
         <#if (requiredInfo.resources?size > 0)>
         resources.putAll("${requiredInfo.id}", asList(<#list requiredInfo.resources as resource>"${resource}"<#if resource_has_next>, </#if></#list>));
         </#if>
         recursive.put("${requiredInfo.id}", ${requiredInfo.recursive?c});
+        <#list requiredInfo.bundles as bundle>
+        bundle("${requiredInfo.id}", "${bundle.parent}", asList(<#list bundle.templates as template>"${template}"<#if template_has_next>, </#if></#list>));
+        </#list>
         </#list>
     }
 
+    private void bundle(String id, String parent, java.util.List<String> templates) {
+        Map<String, Set<String>> bundle = bundles.get(id);
+        if (bundle == null) {
+            bundle = new HashMap<>();
+            bundles.put(id, bundle);
+        }
+        bundle.put(parent, new java.util.HashSet<>(templates));
+    }
+
     @Override
     public Set<String> getResources(String id) {
         if (resources.containsKey(id)) {
@@ -52,4 +66,13 @@ public class ${className} implements org.jboss.hal.meta.resource.RequiredResourc
             return false;
         }
     }
+
+    @Override
+    public Map<String, Set<String>> getBundles(String id) {
+        if (bundles.containsKey(id)) {
+            return bundles.get(id);
+        } else {
+            return Collections.<String, Set<String>>emptyMap();
+        }
+    }
 }
@@ -46,6 +46,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String attribute();
     String attributes();
     String average();
+    String averageMs();
     String back();
     String backToNormalMode();
     String browse();
@@ -111,6 +112,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String days();
     String deactivate();
     String deactivateAccount();
+    String decodeMs();
     String defaultValue();
     String deploy();
     String deployContent();
@@ -124,6 +126,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String description();
     String destroy();
     String details();
+    String diagnostics();
     String directory();
     String disable();
     String disableConfigurationChanges();
@@ -157,9 +160,11 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String endpointSelectDescription();
     String endpointSelectTitle();
     String enterAddressMatch();
+    String entries();
     String entry();
     String environment();
     String error();
+    String evictions();
     String excludeRole();
     String excludes();
     String excludeUserGroup();
@@ -180,6 +185,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String extensionProcessing();
     String failed();
     String failedExecutions();
+    String failures();
     String filter();
     String findNonProgressingOperation();
     String finish();
@@ -208,6 +214,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String hiddenColumns();
     String hideSensitive();
     String hitCount();
+    String hitRate();
     String homepageAccessControlSection();
     String homepageAccessControlSsoSubHeader();
     String homepageAccessControlStep1();
@@ -333,6 +340,8 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String markAllRead();
     String maxActiveSessions();
     String maximum();
+    String maxKb();
+    String maxMs();
     String maxProcessingTime();
     String maxUsed();
     String membership();
@@ -340,6 +349,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String message();
     String messageLarge();
     String messages();
+    String metadata();
     String milliseconds();
     String minimum();
     String minute();
@@ -441,6 +451,7 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String reload();
     String reloadCRL();
     String reloadRequired();
+    String reloads();
     String reloadStandaloneTooltip();
     String remoteActiveMQServer();
     String remoteAddress();
@@ -453,14 +464,17 @@ public interface Constants extends com.google.gwt.i18n.client.Constants {
     String replaceContent();
     String replaceDeployment();
     String request();
+    String requests();
     String required();
     String requiredField();
     String reset();
+    String residentKb();
     String resolve();
     String resolvedValue();
     String resolveExpression();
     String resourceRollback();
     String response();
+    String responseKb();
     String restart();
     String restartAllServices();
     String restartJvm();